@@ -0,0 +1,19 @@
+package br.com.microservices.orchestrated.inventoryservice.config.jackson;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot registers every Module bean with the auto-configured ObjectMapper, so JsonUtil's prebuilt readers
+ * and writers get Blackbird's generated accessors in place of reflection.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
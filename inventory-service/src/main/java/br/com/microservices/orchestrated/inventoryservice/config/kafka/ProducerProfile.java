@@ -0,0 +1,19 @@
+package br.com.microservices.orchestrated.inventoryservice.config.kafka;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Map;
+
+public record ProducerProfile(int lingerMs, int batchSize, String compressionType, boolean idempotence) {
+
+    public Map<String, Object> applyTo(Map<String, Object> props) {
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        if (idempotence) {
+            props.put(ProducerConfig.ACKS_CONFIG, "all");
+        }
+        return props;
+    }
+}
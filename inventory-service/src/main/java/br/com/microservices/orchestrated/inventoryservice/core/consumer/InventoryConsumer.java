@@ -1,35 +1,72 @@
 package br.com.microservices.orchestrated.inventoryservice.core.consumer;
 
-import br.com.microservices.orchestrated.inventoryservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.inventoryservice.core.claimcheck.ClaimCheckResolver;
+import br.com.microservices.orchestrated.inventoryservice.core.codec.EventCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class InventoryConsumer {
 
-    private final JsonUtil jsonUtil;
+    private final EventCodec eventCodec;
+    private final ClaimCheckResolver claimCheckResolver;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.inventory-success}"
+            topics = "${spring.kafka.topic.inventory-success}",
+            autoStartup = "#{!${spring.threads.virtual.enabled}}"
     )
-    public void consumeInventorySuccessEvent(String payload){
-        log.info("Receiving event {} from inventory-success topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        log.info(event.toString());
+    public void consumeInventorySuccessEvent(byte[] payload){
+        handleInventorySuccess(payload);
     }
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.inventory-fail}"
+            topics = "${spring.kafka.topic.inventory-success}",
+            containerFactory = "keyOrderedKafkaListenerContainerFactory",
+            autoStartup = "${spring.threads.virtual.enabled}"
     )
-    public void consumeInventoryFailEvent(String payload){
-        log.info("Receiving rollback event {} from inventory-fail topic", payload);
-        var event = jsonUtil.toEvent(payload);
+    public void consumeInventorySuccessEvents(List<ConsumerRecord<String, byte[]>> records){
+        keyOrderedDispatcher.dispatch(records, record -> handleInventorySuccess(record.value()));
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.inventory-fail}",
+            autoStartup = "#{!${spring.threads.virtual.enabled}}"
+    )
+    public void consumeInventoryFailEvent(byte[] payload){
+        handleInventoryFail(payload);
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.inventory-fail}",
+            containerFactory = "keyOrderedKafkaListenerContainerFactory",
+            autoStartup = "${spring.threads.virtual.enabled}"
+    )
+    public void consumeInventoryFailEvents(List<ConsumerRecord<String, byte[]>> records){
+        keyOrderedDispatcher.dispatch(records, record -> handleInventoryFail(record.value()));
+    }
+
+    private void handleInventorySuccess(byte[] payload) {
+        var event = eventCodec.decode(payload);
+        claimCheckResolver.resolve(event);
+        log.info("Receiving event {} from inventory-success topic", event);
+        log.info(event.toString());
+    }
+
+    private void handleInventoryFail(byte[] payload) {
+        var event = eventCodec.decode(payload);
+        log.info("Receiving rollback event {} from inventory-fail topic", event);
         log.info(event.toString());
     }
 }
\ No newline at end of file
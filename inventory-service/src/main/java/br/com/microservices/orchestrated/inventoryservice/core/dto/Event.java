@@ -23,4 +23,5 @@ public class Event {
     private ESagaStatus status;
     private List<History> eventHistory;
     private LocalDateTime createdAt;
+    private ClaimCheck claimCheck;
 }
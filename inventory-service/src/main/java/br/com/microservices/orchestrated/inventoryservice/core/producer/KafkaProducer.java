@@ -1,27 +1,48 @@
 package br.com.microservices.orchestrated.inventoryservice.core.producer;
 
+import br.com.microservices.orchestrated.inventoryservice.core.codec.EventCodec;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Event;
+import br.com.microservices.orchestrated.inventoryservice.core.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class KafkaProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ProducerPipeline producerPipeline;
+    private final Tracer tracer;
+    private final EventCodec eventCodec;
+
+    public static final String CONSUMED_AT_HEADER = "saga-consumed-at";
 
     @Value("${spring.kafka.topic.orchestrator}")
     private String orchestratorTopic;
 
-    public void sendEvent(String paylod) {
-        try {
-            log.info("Sending event to topic {} witg data {}", orchestratorTopic, paylod);
-            kafkaTemplate.send(orchestratorTopic, paylod);
-        } catch (Exception e) {
-            log.error("Error tryign to send data to topic {} with data {}", orchestratorTopic, paylod, e);
+    public CompletableFuture<Void> sendEvent(Event event, String key) {
+        log.info("Sending event to topic {} witg data {}", orchestratorTopic, event);
+        var record = new ProducerRecord<>(orchestratorTopic, key, eventCodec.encode(event, orchestratorTopic));
+        tracer.inject(record.headers());
+        stampConsumedAt(record.headers());
+        return producerPipeline.send(record);
+    }
+
+    /**
+     * Tells the orchestrator when the request behind this reply was consumed, so it can time the step's
+     * processing apart from the time the request waited in the participant topic.
+     */
+    private void stampConsumedAt(Headers headers) {
+        var consumedAt = tracer.consumedAtMillis();
+        if (consumedAt > 0) {
+            headers.add(CONSUMED_AT_HEADER, Long.toString(consumedAt).getBytes(StandardCharsets.US_ASCII));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package br.com.microservices.orchestrated.inventoryservice.core.tracing;
+
+import lombok.Getter;
+
+@Getter
+public class Span implements AutoCloseable {
+
+    private final Tracer tracer;
+    private final String name;
+    private final TraceContext context;
+    private final String parentSpanId;
+    private final Span previous;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private String error;
+
+    Span(Tracer tracer, String name, TraceContext context, String parentSpanId, Span previous) {
+        this.tracer = tracer;
+        this.name = name;
+        this.context = context;
+        this.parentSpanId = parentSpanId;
+        this.previous = previous;
+        this.startEpochMicros = System.currentTimeMillis() * 1000;
+        this.startNanos = System.nanoTime();
+    }
+
+    public void recordError(Throwable throwable) {
+        error = throwable.getClass().getSimpleName().concat(": ").concat(String.valueOf(throwable.getMessage()));
+    }
+
+    @Override
+    public void close() {
+        tracer.end(this, (System.nanoTime() - startNanos) / 1000);
+    }
+}
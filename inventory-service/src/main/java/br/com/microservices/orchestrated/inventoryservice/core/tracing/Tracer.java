@@ -0,0 +1,85 @@
+package br.com.microservices.orchestrated.inventoryservice.core.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@RequiredArgsConstructor
+public class Tracer {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+
+    @Value("${tracing.service-name}")
+    private String serviceName;
+
+    private final SpanExporter spanExporter;
+
+    public Span startSpan(String name) {
+        var parent = current.get();
+        return startSpan(name, parent == null ? null : parent.getContext());
+    }
+
+    public Span startSpan(String name, TraceContext parent) {
+        var context = parent == null ? TraceContext.newRoot() : parent.newChild();
+        var span = new Span(this, name, context, parent == null ? null : parent.spanId(), current.get());
+        current.set(span);
+        return span;
+    }
+
+    public void inject(Headers headers) {
+        var span = current.get();
+        if (span != null) {
+            headers.remove(TRACEPARENT_HEADER);
+            headers.add(TRACEPARENT_HEADER, span.getContext().toTraceparent().getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * Start of the outermost span open on this thread, which on a listener thread is the consume span of the
+     * record being handled, or -1 outside of one.
+     */
+    public long consumedAtMillis() {
+        var span = current.get();
+        if (span == null) {
+            return -1;
+        }
+        while (span.getPrevious() != null) {
+            span = span.getPrevious();
+        }
+        return span.getStartEpochMicros() / 1000;
+    }
+
+    public TraceContext extract(Headers headers) {
+        var header = headers.lastHeader(TRACEPARENT_HEADER);
+        if (header == null || header.value() == null) {
+            return null;
+        }
+        return TraceContext.parse(new String(header.value(), StandardCharsets.US_ASCII));
+    }
+
+    void end(Span span, long durationMicros) {
+        if (current.get() == span) {
+            if (span.getPrevious() == null) {
+                current.remove();
+            } else {
+                current.set(span.getPrevious());
+            }
+        }
+        if (span.getContext().sampled()) {
+            spanExporter.export(new SpanData(span.getContext().traceId(),
+                    span.getContext().spanId(),
+                    span.getParentSpanId(),
+                    serviceName,
+                    span.getName(),
+                    span.getStartEpochMicros(),
+                    durationMicros,
+                    span.getError()));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.microservices.orchestrated.inventoryservice.core.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TracingRecordInterceptor implements RecordInterceptor<String, byte[]> {
+
+    private static final String CONSUME_SPAN_PREFIX = "consume ";
+
+    private final Tracer tracer;
+    private final ThreadLocal<Span> consumeSpan = new ThreadLocal<>();
+
+    @Override
+    public ConsumerRecord<String, byte[]> intercept(ConsumerRecord<String, byte[]> record,
+                                                    Consumer<String, byte[]> consumer) {
+        consumeSpan.set(tracer.startSpan(CONSUME_SPAN_PREFIX.concat(record.topic()), tracer.extract(record.headers())));
+        return record;
+    }
+
+    @Override
+    public void failure(ConsumerRecord<String, byte[]> record, Exception exception, Consumer<String, byte[]> consumer) {
+        var span = consumeSpan.get();
+        if (span != null) {
+            span.recordError(exception);
+        }
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<String, byte[]> record, Consumer<String, byte[]> consumer) {
+        var span = consumeSpan.get();
+        if (span != null) {
+            consumeSpan.remove();
+            span.close();
+        }
+    }
+}
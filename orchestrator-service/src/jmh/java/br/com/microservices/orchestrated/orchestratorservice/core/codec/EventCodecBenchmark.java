@@ -0,0 +1,102 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.codec;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.History;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Order;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.OrderProducts;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Product;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.*;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.SUCCESS;
+
+/**
+ * Encode and decode time of one saga event in each {@link WireFormat}, with the encoded size printed once per
+ * trial. The event is the one the orchestrator sends to inventory: the order's products and three history
+ * entries. JSON goes through the same {@link JsonUtil} the services use.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    private static final EEventSource[] STEPS = {ORCHESTRATOR, PRODUCT_VALIDATION_SERVICE, PAYMENT_SERVICE};
+
+    @Param({"JSON", "BINARY"})
+    private WireFormat format;
+
+    @Param({"3", "50"})
+    private int products;
+
+    private EventCodec codec;
+    private Event event;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        codec = new EventCodec(new JsonUtil(Jackson2ObjectMapperBuilder.json().build()), Set.of());
+        event = event(products);
+        encoded = codec.encode(event, format);
+        System.out.printf("%n%s, %d products: %d bytes%n", format, products, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(event, format);
+    }
+
+    @Benchmark
+    public Event decode() {
+        return codec.decode(encoded);
+    }
+
+    private static Event event(int products) {
+        var orderProducts = new ArrayList<OrderProducts>(products);
+        for (int i = 0; i < products; i++) {
+            orderProducts.add(new OrderProducts(new Product("PRODUCT-" + i, "10.5"), i + 1));
+        }
+        var now = LocalDateTime.now();
+        var history = new ArrayList<History>(STEPS.length);
+        for (var step : STEPS) {
+            history.add(new History(step, SUCCESS, "Step finished successfully!", now));
+        }
+        return Event.builder()
+                .id("64f1c2a7e4b0a1b2c3d4e5f6")
+                .transactionId("1697616181000_0f8b3c2e-6d1a-4c55-9b7e-2f4a6c8d0e13")
+                .orderId("64f1c2a7e4b0a1b2c3d4e5f7")
+                .payload(Order.builder()
+                        .id("64f1c2a7e4b0a1b2c3d4e5f7")
+                        .orderProducts(orderProducts)
+                        .createdAt(now)
+                        .transactionId("1697616181000_0f8b3c2e-6d1a-4c55-9b7e-2f4a6c8d0e13")
+                        .totalAmount(products * 10.5)
+                        .totalItens(products)
+                        .build())
+                .source(PAYMENT_SERVICE)
+                .status(SUCCESS)
+                .eventHistory(history)
+                .createdAt(now)
+                .build();
+    }
+}
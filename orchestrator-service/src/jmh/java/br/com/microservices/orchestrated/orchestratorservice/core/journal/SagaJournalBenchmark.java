@@ -0,0 +1,160 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.journal;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaRegistry;
+import br.com.microservices.orchestrated.orchestratorservice.core.timeout.SagaTimeoutScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Journal costs the orchestrator pays: latency of one appended transition, with and without waiting for the
+ * group fsync, and the time a restart spends rebuilding the registry from the journal. Results depend on the
+ * disk under java.io.tmpdir.
+ */
+@Fork(1)
+public class SagaJournalBenchmark {
+
+    private static final byte SOURCE = (byte) EEventSource.PAYMENT_SERVICE.ordinal();
+    private static final byte STATUS = (byte) ESagaStatus.SUCCESS.ordinal();
+    private static final byte STEP = (byte) ETopics.INVENTORY_SUCCESS.ordinal();
+
+    @State(Scope.Benchmark)
+    public static class Append {
+
+        @Param({"false", "true"})
+        private boolean syncCommit;
+
+        private Path directory;
+        private SagaTimeoutScheduler scheduler;
+        private SagaJournal journal;
+        private long sequence;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            directory = Files.createTempDirectory("saga-journal");
+            scheduler = scheduler();
+            journal = journal(new SagaRegistry(1_000_000), scheduler, directory, syncCommit, 1_000);
+            journal.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws Exception {
+            journal.stop();
+            scheduler.stop();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Recovery {
+
+        @Param({"10000", "100000"})
+        private int sagas;
+
+        private Path directory;
+        private SagaTimeoutScheduler scheduler;
+        private SagaJournal journal;
+
+        @Setup(Level.Trial)
+        public void writeJournal() throws Exception {
+            directory = Files.createTempDirectory("saga-journal");
+            var registry = new SagaRegistry(sagas * 2);
+            var writerScheduler = scheduler();
+            var writer = journal(registry, writerScheduler, directory, false, TimeUnit.HOURS.toMillis(1));
+            writer.start();
+            var now = System.currentTimeMillis();
+            for (int i = 0; i < sagas; i++) {
+                var transactionId = "transaction-" + i;
+                registry.register(transactionId, now);
+                registry.update(transactionId, EEventSource.ORCHESTRATOR, ESagaStatus.SUCCESS,
+                        ETopics.PRODUCT_VALIDATION_SUCCESS, now);
+                registry.update(transactionId, EEventSource.PRODUCT_VALIDATION_SERVICE, ESagaStatus.SUCCESS,
+                        ETopics.PAYMENT_SUCCESS, now);
+            }
+            writer.stop();
+            writerScheduler.stop();
+        }
+
+        @Setup(Level.Iteration)
+        public void prepare() {
+            scheduler = scheduler();
+            journal = journal(new SagaRegistry(sagas * 2), scheduler, directory, false, TimeUnit.HOURS.toMillis(1));
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() throws Exception {
+            journal.stop();
+            scheduler.stop();
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public void append(Append state) {
+        var key = ++state.sequence;
+        state.journal.awaitDurable(state.journal.onUpdated(key, key, SOURCE, STATUS, STEP, System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public JournalStats recover(Recovery state) throws IOException {
+        state.journal.start();
+        return state.journal.stats();
+    }
+
+    private static SagaTimeoutScheduler scheduler() {
+        var scheduler = new SagaTimeoutScheduler(new StandardEnvironment());
+        var fields = new DirectFieldAccessor(scheduler);
+        fields.setPropertyValue("defaultStepTimeoutMs", TimeUnit.HOURS.toMillis(1));
+        fields.setPropertyValue("tickMs", 100L);
+        fields.setPropertyValue("wheelSize", 512);
+        fields.setPropertyValue("firingThreads", 1);
+        scheduler.start();
+        return scheduler;
+    }
+
+    private static SagaJournal journal(SagaRegistry registry, SagaTimeoutScheduler scheduler, Path directory,
+                                       boolean syncCommit, long snapshotIntervalMs) {
+        var journal = new SagaJournal(registry, scheduler);
+        var fields = new DirectFieldAccessor(journal);
+        fields.setPropertyValue("enabled", true);
+        fields.setPropertyValue("directory", directory.toString());
+        fields.setPropertyValue("segmentSizeBytes", 8 * 1024 * 1024);
+        fields.setPropertyValue("flushIntervalMs", 5L);
+        fields.setPropertyValue("syncCommit", syncCommit);
+        fields.setPropertyValue("snapshotIntervalMs", snapshotIntervalMs);
+        return journal;
+    }
+}
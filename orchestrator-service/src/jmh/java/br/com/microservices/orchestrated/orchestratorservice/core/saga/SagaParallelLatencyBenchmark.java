@@ -0,0 +1,137 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.History;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.*;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.SUCCESS;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.FINISH_SUCCESS;
+
+/**
+ * End-to-end latency of one successful saga, sequential against the scatter-gather stage. Routing goes through
+ * {@link SagaExecutionController} and the parallel stage through {@link SagaJoinCoordinator}; each participant
+ * is a scheduled reply after a fixed hop that stands in for the Kafka round trip plus its database transaction.
+ * No broker or database runs here, so the numbers show how many hops each mode puts on the critical path, not
+ * what a given hop costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class SagaParallelLatencyBenchmark {
+
+    @Param({"1", "5"})
+    private long hopMillis;
+
+    private SagaExecutionController controller;
+    private SagaJoinCoordinator coordinator;
+    private ScheduledExecutorService participants;
+
+    @Setup(Level.Trial)
+    public void start() {
+        controller = new SagaExecutionController();
+        coordinator = new SagaJoinCoordinator();
+        participants = Executors.newScheduledThreadPool(3);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        participants.shutdownNow();
+    }
+
+    @Benchmark
+    public Event sequential() {
+        var event = startedEvent();
+        return route(event, controller.getNextTopic(event)).join();
+    }
+
+    @Benchmark
+    public Event parallel() {
+        var event = startedEvent();
+        var join = coordinator.open(event);
+        var joined = new CompletableFuture<Event>();
+        for (var step : coordinator.getParallelSteps()) {
+            hop(event, step).thenAccept(reply -> {
+                synchronized (join) {
+                    if (join.accept(reply) && join.isComplete()) {
+                        joined.complete(join.getEvent());
+                    }
+                }
+            });
+        }
+        return joined.thenCompose(merged -> {
+            coordinator.close(merged.getTransactionId());
+            merged.setSource(ORCHESTRATOR);
+            merged.setStatus(SUCCESS);
+            return route(merged, coordinator.getNextStep());
+        }).join();
+    }
+
+    private CompletableFuture<Event> route(Event event, ETopics topic) {
+        if (topic == FINISH_SUCCESS) {
+            return CompletableFuture.completedFuture(event);
+        }
+        return hop(event, topic).thenCompose(reply -> route(reply, controller.getNextTopic(reply)));
+    }
+
+    private CompletableFuture<Event> hop(Event event, ETopics topic) {
+        var reply = new CompletableFuture<Event>();
+        participants.schedule(() -> reply.complete(replyOf(event, sourceOf(topic))), hopMillis, TimeUnit.MILLISECONDS);
+        return reply;
+    }
+
+    private static Event replyOf(Event event, EEventSource source) {
+        var history = new ArrayList<>(event.getEventHistory());
+        history.add(new History(source, SUCCESS, "Step finished", LocalDateTime.now()));
+        return new Event(event.getId(), event.getTransactionId(), event.getOrderId(), event.getPayload(), source,
+                SUCCESS, history, event.getCreatedAt(), null);
+    }
+
+    private static EEventSource sourceOf(ETopics topic) {
+        return switch (topic) {
+            case PRODUCT_VALIDATION_SUCCESS -> PRODUCT_VALIDATION_SERVICE;
+            case PAYMENT_SUCCESS -> PAYMENT_SERVICE;
+            case INVENTORY_SUCCESS -> INVENTORY_SERVICE;
+            default -> throw new IllegalArgumentException("No participant listens on " + topic);
+        };
+    }
+
+    private static Event startedEvent() {
+        var id = UUID.randomUUID().toString();
+        var event = Event.builder()
+                .id(id)
+                .transactionId("transaction-" + id)
+                .orderId("order-" + id)
+                .source(ORCHESTRATOR)
+                .status(SUCCESS)
+                .createdAt(LocalDateTime.now())
+                .build();
+        event.addHistory(new History(ORCHESTRATOR, SUCCESS, "Saga started!", LocalDateTime.now()));
+        return event;
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.EventDelta;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.History;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Order;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.OrderProducts;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Product;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.*;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.SUCCESS;
+
+/**
+ * CPU per participant reply and bytes per saga, full event against delta. One hop is the participant encoding
+ * its reply and the orchestrator decoding it, plus the {@link SagaEventStore} merge for a delta. The reply
+ * measured is payment's, halfway through the saga. Reply bytes per saga cover the product validation and
+ * payment replies, the two hops that can send deltas, and are printed once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SagaReplyFormatBenchmark {
+
+    private static final EEventSource[] DELTA_HOPS = {PRODUCT_VALIDATION_SERVICE, PAYMENT_SERVICE};
+
+    @Param({"5", "50"})
+    private int products;
+
+    private ObjectWriter deltaWriter;
+    private JsonUtil jsonUtil;
+    private SagaEventStore sagaEventStore;
+    private Event reply;
+    private EventDelta delta;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        deltaWriter = objectMapper.writerFor(EventDelta.class);
+        jsonUtil = new JsonUtil(objectMapper);
+        sagaEventStore = new SagaEventStore(true, 1);
+
+        var dispatched = startedEvent(products);
+        long fullBytes = 0;
+        long deltaBytes = 0;
+        for (var source : DELTA_HOPS) {
+            sagaEventStore.put(dispatched);
+            reply = replyOf(dispatched, source);
+            delta = deltaOf(reply);
+            fullBytes += jsonUtil.toJson(reply).length;
+            deltaBytes += deltaWriter.writeValueAsBytes(delta).length;
+            dispatched = sagaEventStore.merge(delta);
+        }
+        System.out.printf("%n%d products: reply bytes per saga full=%d delta=%d%n", products, fullBytes, deltaBytes);
+    }
+
+    @Benchmark
+    public Event fullReply() {
+        return jsonUtil.toEvent(jsonUtil.toJson(reply));
+    }
+
+    @Benchmark
+    public Event deltaReply() throws Exception {
+        return sagaEventStore.merge(jsonUtil.toEventDelta(deltaWriter.writeValueAsBytes(delta)));
+    }
+
+    private static Event startedEvent(int products) {
+        var orderProducts = new ArrayList<OrderProducts>(products);
+        for (int i = 0; i < products; i++) {
+            orderProducts.add(new OrderProducts(new Product("PRODUCT-" + i, "10.5"), i + 1));
+        }
+        var now = LocalDateTime.now();
+        var history = new ArrayList<History>();
+        history.add(new History(ORCHESTRATOR, SUCCESS, "Saga started!", now));
+        return Event.builder()
+                .id("event-1")
+                .transactionId("transaction-1")
+                .orderId("order-1")
+                .payload(Order.builder().id("order-1").orderProducts(orderProducts).createdAt(now)
+                        .transactionId("transaction-1").build())
+                .source(ORCHESTRATOR)
+                .status(SUCCESS)
+                .eventHistory(history)
+                .createdAt(now)
+                .build();
+    }
+
+    private static Event replyOf(Event dispatched, EEventSource source) {
+        var history = new ArrayList<>(dispatched.getEventHistory());
+        history.add(new History(source, SUCCESS, "Step finished successfully!", LocalDateTime.now()));
+        var payload = dispatched.getPayload();
+        var items = payload.getOrderProducts().stream().mapToInt(OrderProducts::getQuantity).sum();
+        var order = new Order(payload.getId(), List.copyOf(payload.getOrderProducts()), payload.getCreatedAt(),
+                payload.getTransactionId(), items * 10.5, items);
+        return new Event(dispatched.getId(), dispatched.getTransactionId(), dispatched.getOrderId(), order, source,
+                SUCCESS, history, dispatched.getCreatedAt(), null);
+    }
+
+    private static EventDelta deltaOf(Event reply) {
+        var history = reply.getEventHistory();
+        return new EventDelta(reply.getId(), reply.getTransactionId(), reply.getOrderId(), reply.getSource(),
+                reply.getStatus(), history.get(history.size() - 1), reply.getPayload().getTotalAmount(),
+                reply.getPayload().getTotalItens());
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaHandler.*;
+
+/**
+ * Routing cost per message: the transition table against a scan of {@link SagaHandler#SAGA_HANDLER}, which is
+ * what a lookup without the table would do. Events cycle through every row so branch prediction cannot settle.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SagaRoutingBenchmark {
+
+    private SagaExecutionController controller;
+    private Event[] events;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        controller = new SagaExecutionController();
+        events = new Event[SAGA_HANDLER.length];
+        for (int i = 0; i < SAGA_HANDLER.length; i++) {
+            events[i] = Event.builder()
+                    .transactionId("transaction-" + i)
+                    .orderId("order-" + i)
+                    .source((EEventSource) SAGA_HANDLER[i][EVENT_SOURCE_INDEX])
+                    .status((ESagaStatus) SAGA_HANDLER[i][SAGA_STATUS_INDEX])
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public ETopics transitionTable() {
+        return controller.getNextTopic(nextEvent());
+    }
+
+    @Benchmark
+    public ETopics handlerScan() {
+        var event = nextEvent();
+        for (var row : SAGA_HANDLER) {
+            if (row[EVENT_SOURCE_INDEX] == event.getSource() && row[SAGA_STATUS_INDEX] == event.getStatus()) {
+                return (ETopics) row[TOPIC_INDEX];
+            }
+        }
+        return null;
+    }
+
+    private Event nextEvent() {
+        var event = events[next];
+        next = next + 1 == events.length ? 0 : next + 1;
+        return event;
+    }
+}
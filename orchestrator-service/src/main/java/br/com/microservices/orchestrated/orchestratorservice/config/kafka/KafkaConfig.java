@@ -1,24 +1,44 @@
 package br.com.microservices.orchestrated.orchestratorservice.config.kafka;
 
+import br.com.microservices.orchestrated.orchestratorservice.core.codec.EventCodec;
+import br.com.microservices.orchestrated.orchestratorservice.core.producer.ProducerPipeline;
+import br.com.microservices.orchestrated.orchestratorservice.core.tracing.TracingRecordInterceptor;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
 import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
+import jakarta.annotation.PostConstruct;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.RangeAssignor;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.BASE_ORCHESTRATOR;
 import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.FINISH_FAIL;
 import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.FINISH_SUCCESS;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.START_SAGA;
 
 @EnableKafka
 @Configuration
@@ -34,12 +54,83 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
 
-    private static final Integer REPLICA_COUNT = 1;
+    @Value("${spring.kafka.replicas}")
+    private Integer replicaCount;
 
-    private static final Integer PARTITION_COUNT = 1;
+    @Value("${spring.kafka.partitions.default}")
+    private Integer defaultPartitionCount;
+
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer listenerConcurrency;
+
+    @Value("${saga.codec.binary-topics}")
+    private List<String> binaryTopics;
+
+    @Value("${spring.kafka.listener.batch.max-records}")
+    private Integer batchMaxRecords;
+
+    @Value("${spring.kafka.listener.batch.max-wait-ms}")
+    private Integer batchMaxWaitMs;
+
+    @Value("${spring.kafka.listener.batch.min-bytes}")
+    private Integer batchMinBytes;
+
+    @Value("${saga.producer.max-in-flight-records}")
+    private Integer maxInFlightRecords;
+
+    @Value("${saga.producer.max-in-flight-bytes}")
+    private Integer maxInFlightBytes;
+
+    @Value("${saga.producer.max-block-ms}")
+    private Long producerMaxBlockMs;
+
+    @Value("${saga.producer.delivery-timeout-ms}")
+    private Integer producerDeliveryTimeoutMs;
+
+    @Value("${spring.kafka.listener.retry.backoff-ms}")
+    private Long listenerRetryBackoffMs;
+
+    @Value("${spring.kafka.listener.retry.max-attempts}")
+    private Long listenerRetryMaxAttempts;
+
+    @Value("${saga.producer.profile.linger-ms}")
+    private Integer defaultLingerMs;
+
+    @Value("${saga.producer.profile.batch-size}")
+    private Integer defaultBatchSize;
+
+    @Value("${saga.producer.profile.compression-type}")
+    private String defaultCompressionType;
+
+    @Value("${saga.producer.profile.idempotence}")
+    private Boolean defaultIdempotence;
+
+    private static final String PARTITIONS_PROPERTY_PREFIX = "spring.kafka.partitions.";
+    private static final String PRODUCER_PROFILE_PROPERTY_PREFIX = "saga.producer.topics.";
+    private static final String DEAD_LETTER_SUFFIX = ".DLT";
+    private static final String DEAD_LETTER_PROFILE = "dead-letter";
+    private static final List<ETopics> SAGA_TOPICS = List.of(START_SAGA, BASE_ORCHESTRATOR, FINISH_SUCCESS, FINISH_FAIL);
+
+    private final Environment environment;
+
+    /**
+     * The saga listener relies on the range assignor giving each consumer the same partition index of every
+     * saga topic, which only holds when those topics have the same partition count.
+     */
+    @PostConstruct
+    public void validateSagaTopicPartitions() {
+        var counts = new HashMap<String, Integer>();
+        for (var topic : SAGA_TOPICS) {
+            counts.put(topic.getTopics(), partitionCount(topic.getTopics()));
+        }
+        if (Set.copyOf(counts.values()).size() > 1) {
+            throw new IllegalStateException("Saga topics must have the same partition count to be co-partitioned: "
+                    + counts);
+        }
+    }
 
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, byte[]> consumerFactory() {
         return new DefaultKafkaConsumerFactory<>(consumerProps());
     }
 
@@ -49,38 +140,99 @@ public class KafkaConfig {
         propsConsumer.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         propsConsumer.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
         propsConsumer.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        propsConsumer.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        propsConsumer.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        propsConsumer.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, RangeAssignor.class.getName());
 
         return propsConsumer;
     }
 
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerProps());
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory(
+            ConsumerFactory<String, byte[]> consumerFactory, TracingRecordInterceptor tracingRecordInterceptor,
+            DefaultErrorHandler kafkaErrorHandler) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, byte[]>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(listenerConcurrency);
+        factory.setRecordInterceptor(tracingRecordInterceptor);
+        factory.setCommonErrorHandler(kafkaErrorHandler);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> batchKafkaListenerContainerFactory(
+            DefaultErrorHandler kafkaErrorHandler) {
+        var props = consumerProps();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxRecords);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, batchMaxWaitMs);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, batchMinBytes);
+
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, byte[]>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setConcurrency(listenerConcurrency);
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(kafkaErrorHandler);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+
+    /**
+     * Retries a failed record in place with a fixed backoff, then parks it on its dead-letter topic, so the
+     * committed offset only moves past a record once it was either handled or dead-lettered.
+     */
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler() {
+        var deadLetterTemplate = new KafkaTemplate<>(producerFactory(producerProfile(DEAD_LETTER_PROFILE)));
+        var recoverer = new DeadLetterPublishingRecoverer(deadLetterTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, -1));
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(listenerRetryBackoffMs, listenerRetryMaxAttempts - 1));
+    }
+
+    @Bean
+    public ProducerPipeline producerPipeline(MeterRegistry meterRegistry) {
+        return new ProducerPipeline(this::producerProfile, this::producerFactory, maxInFlightRecords,
+                maxInFlightBytes, producerMaxBlockMs, meterRegistry);
+    }
+
+    private ProducerProfile producerProfile(String topicName) {
+        var prefix = PRODUCER_PROFILE_PROPERTY_PREFIX + topicName + ".";
+        return new ProducerProfile(
+                environment.getProperty(prefix + "linger-ms", Integer.class, defaultLingerMs),
+                environment.getProperty(prefix + "batch-size", Integer.class, defaultBatchSize),
+                environment.getProperty(prefix + "compression-type", defaultCompressionType),
+                environment.getProperty(prefix + "idempotence", Boolean.class, defaultIdempotence));
+    }
+
+    private ProducerFactory<String, byte[]> producerFactory(ProducerProfile profile) {
+        return new DefaultKafkaProducerFactory<>(profile.applyTo(producerProps()));
     }
 
     private Map<String, Object> producerProps() {
         var propsProducer = new HashMap<String, Object>();
         propsProducer.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         propsProducer.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        propsProducer.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        propsProducer.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        propsProducer.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, producerDeliveryTimeoutMs);
 
         return propsProducer;
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory){
-        return new KafkaTemplate<>(producerFactory());
+    public EventCodec eventCodec(JsonUtil jsonUtil) {
+        return new EventCodec(jsonUtil, Set.copyOf(binaryTopics));
     }
 
     private NewTopic buildTopics(String topicName) {
         return TopicBuilder
                 .name(topicName)
-                .replicas(REPLICA_COUNT)
-                .partitions(PARTITION_COUNT)
+                .replicas(replicaCount)
+                .partitions(partitionCount(topicName))
                 .build();
     }
 
+    private int partitionCount(String topicName) {
+        return environment.getProperty(PARTITIONS_PROPERTY_PREFIX + topicName, Integer.class, defaultPartitionCount);
+    }
+
     @Bean
     public NewTopic startSagaTopic() {
         return buildTopics(ETopics.START_SAGA.getTopics());
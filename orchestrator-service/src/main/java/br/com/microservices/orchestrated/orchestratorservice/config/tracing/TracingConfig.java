@@ -0,0 +1,37 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.tracing;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.tracing.FileSpanExporter;
+import br.com.microservices.orchestrated.orchestratorservice.core.tracing.InMemorySpanExporter;
+import br.com.microservices.orchestrated.orchestratorservice.core.tracing.SpanExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class TracingConfig {
+
+    @Value("${tracing.exporter}")
+    private String exporter;
+
+    @Value("${tracing.memory.capacity}")
+    private Integer memoryCapacity;
+
+    @Value("${tracing.file.path}")
+    private String filePath;
+
+    @Value("${tracing.file.queue-capacity}")
+    private Integer fileQueueCapacity;
+
+    @Bean
+    public SpanExporter spanExporter(ObjectMapper objectMapper) {
+        return switch (exporter) {
+            case "memory" -> new InMemorySpanExporter(memoryCapacity);
+            case "file" -> new FileSpanExporter(Path.of(filePath), fileQueueCapacity, objectMapper);
+            case "none" -> span -> { };
+            default -> throw new IllegalArgumentException("Unknown tracing exporter " + exporter);
+        };
+    }
+}
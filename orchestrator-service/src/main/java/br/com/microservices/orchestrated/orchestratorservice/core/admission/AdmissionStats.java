@@ -0,0 +1,15 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.admission;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.HistogramSnapshot;
+
+public record AdmissionStats(boolean enabled,
+                             boolean paused,
+                             int inFlight,
+                             int maxInFlight,
+                             int resumeInFlight,
+                             double latencyMillis,
+                             long latencyTargetMillis,
+                             long pauseCount,
+                             long pausedMillis,
+                             HistogramSnapshot pauseDurationMillis) {
+}
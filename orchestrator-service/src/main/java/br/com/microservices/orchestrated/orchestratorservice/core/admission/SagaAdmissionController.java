@@ -0,0 +1,199 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.admission;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.Histogram;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.consumer.SagaOrchestratorConsumer.SAGA_BATCH_LISTENER_ID;
+import static br.com.microservices.orchestrated.orchestratorservice.core.consumer.SagaOrchestratorConsumer.SAGA_LISTENER_ID;
+
+/**
+ * Pauses the start-saga partitions of the saga listener container while too many sagas are in flight or
+ * completions are slower than the latency target, so new orders wait in Kafka instead of piling onto the
+ * participants' databases. Replies and finish topics share the container and keep flowing, which is what
+ * lets in-flight sagas drain. Consumption resumes once in-flight sagas drop below the resume threshold and
+ * the completion latency below the same fraction of its target. The latency average decays toward zero
+ * while no saga completes, so a reading left over from a slow burst cannot keep the gate closed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SagaAdmissionController {
+
+    private static final double LATENCY_SMOOTHING = 0.1;
+    private static final String START_SAGA_TOPIC = ETopics.START_SAGA.getTopics();
+
+    @Value("${saga.admission.enabled}")
+    private boolean enabled;
+
+    @Value("${saga.admission.max-in-flight}")
+    private int maxInFlight;
+
+    @Value("${saga.admission.resume-ratio}")
+    private double resumeRatio;
+
+    @Value("${saga.admission.latency-target-ms}")
+    private long latencyTargetMs;
+
+    @Value("${saga.admission.check-interval-ms}")
+    private long checkIntervalMs;
+
+    @Value("${saga.admission.latency-decay-ms}")
+    private long latencyDecayMs;
+
+    private final SagaRegistry sagaRegistry;
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    private final Set<TopicPartition> pausedPartitions = new HashSet<>();
+    private final Histogram pauseDurationMillis = new Histogram();
+    private final AtomicLong pauseCount = new AtomicLong();
+    private final AtomicLong pausedMillis = new AtomicLong();
+    private double latencyMillis;
+    private long latencySampledAt;
+    private volatile boolean paused;
+    private long pausedAt;
+    private int resumeInFlight;
+    private ScheduledExecutorService checker;
+
+    @PostConstruct
+    public void start() {
+        resumeInFlight = (int) (maxInFlight * resumeRatio);
+        if (!enabled) {
+            return;
+        }
+        checker = Executors.newSingleThreadScheduledExecutor(task -> {
+            var thread = new Thread(task, "saga-admission-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::evaluate, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+
+    public void onSagaStarted() {
+        if (enabled && !paused && sagaRegistry.size() >= maxInFlight) {
+            evaluate();
+        }
+    }
+
+    public void onSagaFinished(long latencyMillis) {
+        if (!enabled) {
+            return;
+        }
+        if (latencyMillis >= 0) {
+            synchronized (this) {
+                var now = System.currentTimeMillis();
+                var current = currentLatencyMillis(now);
+                this.latencyMillis = current + LATENCY_SMOOTHING * (latencyMillis - current);
+                this.latencySampledAt = now;
+            }
+        }
+        if (paused) {
+            evaluate();
+        }
+    }
+
+    public AdmissionStats stats() {
+        var now = System.currentTimeMillis();
+        var currentPause = paused ? now - pausedAt : 0;
+        double latency;
+        synchronized (this) {
+            latency = currentLatencyMillis(now);
+        }
+        return new AdmissionStats(enabled, paused, sagaRegistry.size(), maxInFlight, resumeInFlight, latency,
+                latencyTargetMs, pauseCount.get(), pausedMillis.get() + currentPause, pauseDurationMillis.snapshot());
+    }
+
+    private synchronized void evaluate() {
+        var container = sagaContainer();
+        if (container == null) {
+            return;
+        }
+        var inFlight = sagaRegistry.size();
+        var latency = currentLatencyMillis(System.currentTimeMillis());
+        var overLatency = latencyTargetMs > 0 && latency > latencyTargetMs;
+        var belowResumeLatency = latencyTargetMs <= 0 || latency <= latencyTargetMs * resumeRatio;
+        if (!paused && (inFlight >= maxInFlight || overLatency)) {
+            pauseStartSaga(container);
+            paused = true;
+            pausedAt = System.currentTimeMillis();
+            pauseCount.incrementAndGet();
+            log.warn("PAUSING START-SAGA CONSUMPTION WITH {} SAGAS IN FLIGHT AND {} MS LATENCY", inFlight, (long) latency);
+        } else if (paused && inFlight <= resumeInFlight && belowResumeLatency) {
+            resumeStartSaga(container);
+            paused = false;
+            var duration = System.currentTimeMillis() - pausedAt;
+            pausedMillis.addAndGet(duration);
+            pauseDurationMillis.record(duration);
+            log.info("RESUMING START-SAGA CONSUMPTION WITH {} SAGAS IN FLIGHT AFTER {} MS", inFlight, duration);
+        } else if (paused) {
+            pauseStartSaga(container);
+        }
+    }
+
+    /**
+     * The smoothed latency decayed by the time since the last completion; callers hold this object's lock.
+     */
+    private double currentLatencyMillis(long now) {
+        var idle = now - latencySampledAt;
+        if (idle <= 0 || latencyDecayMs <= 0) {
+            return latencyMillis;
+        }
+        return latencyMillis * Math.exp(-(double) idle / latencyDecayMs);
+    }
+
+    private MessageListenerContainer sagaContainer() {
+        for (var id : List.of(SAGA_LISTENER_ID, SAGA_BATCH_LISTENER_ID)) {
+            var container = kafkaListenerEndpointRegistry.getListenerContainer(id);
+            if (container != null && container.isRunning()) {
+                return container;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Also called on every check while paused, so start-saga partitions assigned by a rebalance after the
+     * pause are paused too.
+     */
+    private void pauseStartSaga(MessageListenerContainer container) {
+        var assigned = container.getAssignedPartitions();
+        if (assigned == null) {
+            return;
+        }
+        for (var partition : assigned) {
+            if (START_SAGA_TOPIC.equals(partition.topic()) && !container.isPartitionPaused(partition)) {
+                container.pausePartition(partition);
+                pausedPartitions.add(partition);
+            }
+        }
+    }
+
+    private void resumeStartSaga(MessageListenerContainer container) {
+        pausedPartitions.forEach(container::resumePartition);
+        pausedPartitions.clear();
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+final class BinaryInput {
+
+    private final byte[] buffer;
+    private int position;
+
+    BinaryInput(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            var b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at position " + position);
+    }
+
+    long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            var b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at position " + position);
+    }
+
+    int readSignedVarInt() {
+        var value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readSignedVarLong() {
+        var value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    double readDouble() {
+        require(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (buffer[position++] & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    String readString() {
+        var length = readVarInt();
+        require(length);
+        var value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    LocalDateTime readTimestamp() {
+        var epochSecond = readSignedVarLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, readVarInt(), ZoneOffset.UTC);
+    }
+
+    int remaining() {
+        return buffer.length - position;
+    }
+
+    private void require(int bytes) {
+        if (bytes < 0 || bytes > buffer.length - position) {
+            throw new IllegalArgumentException("Truncated binary event at position " + position);
+        }
+    }
+}
@@ -1,55 +1,239 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.consumer;
 
+import br.com.microservices.orchestrated.orchestratorservice.core.admission.SagaAdmissionController;
+import br.com.microservices.orchestrated.orchestratorservice.core.codec.EventCodec;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.EventDelta;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.BatchMetrics;
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.CodecMetrics;
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.ReplyMetrics;
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.SagaStepMetrics;
+import br.com.microservices.orchestrated.orchestratorservice.core.producer.SagaOrchestratorProducer;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaEventStore;
+import br.com.microservices.orchestrated.orchestratorservice.core.service.OrchestratorService;
+import br.com.microservices.orchestrated.orchestratorservice.core.tracing.Tracer;
 import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.PAYMENT_SERVICE;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.PRODUCT_VALIDATION_SERVICE;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.PAYMENT_SUCCESS;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.PRODUCT_VALIDATION_SUCCESS;
+
+/**
+ * Consumes start-saga, orchestrator, finish-success and finish-fail in one listener container. With the
+ * range assignor and the same partition count on the four topics, every consumer owns the same partition
+ * index of each of them, so all messages of a saga (keyed by orderId) reach the instance holding its
+ * in-memory state: registry entry, step timeout, parallel join, delta snapshot and dedup keys.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class SagaOrchestratorConsumer {
 
+    public static final String SAGA_LISTENER_ID = "saga-listener";
+    public static final String SAGA_BATCH_LISTENER_ID = "saga-batch-listener";
+    private static final String CONSUME_BATCH_SPAN_PREFIX = "consume batch ";
+    private static final Map<EEventSource, ETopics> FULL_REPLY_TOPICS = Map.of(
+            PRODUCT_VALIDATION_SERVICE, PRODUCT_VALIDATION_SUCCESS,
+            PAYMENT_SERVICE, PAYMENT_SUCCESS);
+    private static final Map<String, ETopics> TOPICS = Arrays.stream(ETopics.values())
+            .collect(Collectors.toUnmodifiableMap(ETopics::getTopics, Function.identity()));
+
     private final JsonUtil jsonUtil;
+    private final OrchestratorService orchestratorService;
+    private final SagaOrchestratorProducer producer;
+    private final BatchMetrics batchMetrics;
+    private final SagaStepMetrics sagaStepMetrics;
+    private final Tracer tracer;
+    private final SagaAdmissionController sagaAdmissionController;
+    private final SagaEventStore sagaEventStore;
+    private final ReplyMetrics replyMetrics;
+    private final EventCodec eventCodec;
+    private final CodecMetrics codecMetrics;
 
     @KafkaListener(
+            id = SAGA_LISTENER_ID,
+            idIsGroup = false,
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.start-saga}"
+            topics = {
+                    "${spring.kafka.topic.start-saga}",
+                    "${spring.kafka.topic.orchestrator}",
+                    "${spring.kafka.topic.finish-success}",
+                    "${spring.kafka.topic.finish-fail}"
+            },
+            autoStartup = "#{!${spring.kafka.listener.batch.enabled}}"
     )
-    public void consumeStartSagaEvent(String payload){
-        log.info("Receiving event {} from start-saga topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        log.info(event.toString());
+    public void consumeSagaEvent(ConsumerRecord<String, byte[]> record){
+        producer.await(consume(record));
     }
 
+    /**
+     * Routes the batch up to the first record that fails, flushes once and then waits for the sends in
+     * record order. The first failed record is reported by index, so the container commits the offsets
+     * before it and retries or dead-letters from that record on.
+     */
     @KafkaListener(
+            id = SAGA_BATCH_LISTENER_ID,
+            idIsGroup = false,
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.orchestrator}"
+            topics = {
+                    "${spring.kafka.topic.start-saga}",
+                    "${spring.kafka.topic.orchestrator}",
+                    "${spring.kafka.topic.finish-success}",
+                    "${spring.kafka.topic.finish-fail}"
+            },
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${spring.kafka.listener.batch.enabled}"
     )
-    public void consumeOrchestratorEvent(String payload){
-        log.info("Receiving event {} from orchestrator topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        log.info(event.toString());
+    public void consumeSagaEvents(List<ConsumerRecord<String, byte[]>> records){
+        var start = System.nanoTime();
+        log.info("Receiving batch of {} saga events", records.size());
+        var sends = new ArrayList<CompletableFuture<Void>>(records.size());
+        RuntimeException routingError = null;
+        for (var record : records) {
+            try (var span = tracer.startSpan(CONSUME_BATCH_SPAN_PREFIX.concat(record.topic()),
+                    tracer.extract(record.headers()))) {
+                sends.add(consume(record));
+            } catch (RuntimeException e) {
+                routingError = e;
+                break;
+            }
+        }
+        producer.flush();
+        for (var index = 0; index < sends.size(); index++) {
+            try {
+                producer.await(sends.get(index));
+            } catch (IllegalStateException e) {
+                throw new BatchListenerFailedException("Error sending saga batch", e, index);
+            }
+        }
+        if (routingError != null) {
+            throw new BatchListenerFailedException("Error routing saga batch", routingError, sends.size());
+        }
+        batchMetrics.record(records.size(), System.nanoTime() - start);
     }
 
-    @KafkaListener(
-            groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.finish-success}"
-    )
-    public void consumeFinishSuccessEvent(String payload){
-        log.info("Receiving event {} from finish-success topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        log.info(event.toString());
+    private CompletableFuture<Void> consume(ConsumerRecord<String, byte[]> record) {
+        var topic = TOPICS.get(record.topic());
+        if (topic == null) {
+            throw new IllegalStateException("No saga handler for topic " + record.topic());
+        }
+        sagaStepMetrics.recordQueueing(topic, record.timestamp());
+        return switch (topic) {
+            case START_SAGA -> consumeStartSagaEvent(record);
+            case BASE_ORCHESTRATOR -> consumeOrchestratorEvent(record);
+            case FINISH_SUCCESS -> consumeFinishSuccessEvent(record);
+            case FINISH_FAIL -> consumeFinishFailEvent(record);
+            default -> throw new IllegalStateException("No saga handler for topic " + record.topic());
+        };
     }
 
-    @KafkaListener(
-            groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.finish-fail}"
-    )
-    public void consumeFinishFailEvent(String payload){
-        log.info("Receiving event {} from finish-fail topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        log.info(event.toString());
+    private CompletableFuture<Void> consumeStartSagaEvent(ConsumerRecord<String, byte[]> record) {
+        var event = decode(record.value());
+        log.info("Receiving event {} from start-saga topic", event);
+        return orchestratorService.startSaga(event);
+    }
+
+    private CompletableFuture<Void> consumeOrchestratorEvent(ConsumerRecord<String, byte[]> record) {
+        var start = System.nanoTime();
+        var delta = isDelta(record);
+        EventDelta eventDelta = null;
+        Event event = null;
+        try {
+            if (delta) {
+                eventDelta = jsonUtil.toEventDelta(record.value());
+                event = eventDelta == null ? null : sagaEventStore.merge(eventDelta);
+            } else {
+                event = decode(record.value());
+            }
+        } catch (IllegalArgumentException e) {
+            log.error("Could not decode reply at offset {} of partition {}", record.offset(), record.partition(), e);
+        }
+        replyMetrics.record(delta, record.serializedValueSize(), System.nanoTime() - start);
+        if (event != null) {
+            log.info("Receiving event {} from orchestrator topic", event);
+            sagaStepMetrics.recordStep(event);
+            sagaStepMetrics.recordParticipant(event.getSource(), consumedAt(record), record.timestamp());
+            return orchestratorService.continueSaga(event);
+        }
+        if (eventDelta != null) {
+            return requestFullReply(eventDelta, record.value());
+        }
+        log.error("Discarding undecodable event at offset {} of partition {}", record.offset(), record.partition());
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * A delta whose snapshot is gone cannot be merged, so the participant is asked to resend its reply in
+     * full; the full reply then arrives on the orchestrator topic and is routed like any other.
+     */
+    private CompletableFuture<Void> requestFullReply(EventDelta delta, byte[] value) {
+        var topic = FULL_REPLY_TOPICS.get(delta.getSource());
+        if (topic == null) {
+            log.error("No dispatched event to merge delta reply of saga {} from {}",
+                    delta.getTransactionId(), delta.getSource());
+            return CompletableFuture.completedFuture(null);
+        }
+        log.warn("No dispatched event to merge delta reply of saga {}, requesting it in full from {}",
+                delta.getTransactionId(), delta.getSource());
+        return producer.requestFullReply(topic.getTopics(), delta, value);
+    }
+
+    private CompletableFuture<Void> consumeFinishSuccessEvent(ConsumerRecord<String, byte[]> record) {
+        var event = decode(record.value());
+        log.info("Receiving event {} from finish-success topic", event);
+        var sends = orchestratorService.finishSagaSuccess(event);
+        sagaAdmissionController.onSagaFinished(sagaStepMetrics.recordTotal(event));
+        return sends;
+    }
+
+    private CompletableFuture<Void> consumeFinishFailEvent(ConsumerRecord<String, byte[]> record) {
+        var event = decode(record.value());
+        log.info("Receiving event {} from finish-fail topic", event);
+        var sends = orchestratorService.finishSagaFail(event);
+        sagaAdmissionController.onSagaFinished(sagaStepMetrics.recordTotal(event));
+        return sends;
+    }
+
+    private Event decode(byte[] value) {
+        var start = System.nanoTime();
+        var event = eventCodec.decode(value);
+        codecMetrics.recordDecode(EventCodec.detect(value), value.length, System.nanoTime() - start);
+        return event;
+    }
+
+    private long consumedAt(ConsumerRecord<String, byte[]> record) {
+        var header = record.headers().lastHeader(SagaOrchestratorProducer.CONSUMED_AT_HEADER);
+        if (header == null || header.value() == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(new String(header.value(), StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private boolean isDelta(ConsumerRecord<String, byte[]> record) {
+        var header = record.headers().lastHeader(SagaOrchestratorProducer.REPLY_FORMAT_HEADER);
+        return header != null && SagaOrchestratorProducer.DELTA_REPLY_FORMAT
+                .equals(new String(header.value(), StandardCharsets.US_ASCII));
     }
-}
\ No newline at end of file
+}
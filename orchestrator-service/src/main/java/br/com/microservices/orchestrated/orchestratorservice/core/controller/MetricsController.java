@@ -0,0 +1,38 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.controller;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.journal.JournalStats;
+import br.com.microservices.orchestrated.orchestratorservice.core.journal.SagaJournal;
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.CodecMetrics;
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.CodecStats;
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.ReplyMetrics;
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.ReplyStats;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final SagaJournal sagaJournal;
+    private final ReplyMetrics replyMetrics;
+    private final CodecMetrics codecMetrics;
+
+    @GetMapping("/journal")
+    public ResponseEntity<JournalStats> getJournalStats() {
+        return ResponseEntity.ok(sagaJournal.stats());
+    }
+
+    @GetMapping("/replies")
+    public ResponseEntity<ReplyStats> getReplyStats() {
+        return ResponseEntity.ok(replyMetrics.stats());
+    }
+
+    @GetMapping("/codec")
+    public ResponseEntity<CodecStats> getCodecStats() {
+        return ResponseEntity.ok(codecMetrics.stats());
+    }
+}
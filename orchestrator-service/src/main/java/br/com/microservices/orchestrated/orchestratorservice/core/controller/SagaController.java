@@ -0,0 +1,55 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.controller;
+
+import br.com.microservices.orchestrated.orchestratorservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.orchestratorservice.core.admission.AdmissionStats;
+import br.com.microservices.orchestrated.orchestratorservice.core.admission.SagaAdmissionController;
+import br.com.microservices.orchestrated.orchestratorservice.core.dedup.DedupStats;
+import br.com.microservices.orchestrated.orchestratorservice.core.dedup.SagaDeduplicator;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaRegistry;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaRegistryStats;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaState;
+import br.com.microservices.orchestrated.orchestratorservice.core.timeout.SagaTimeoutScheduler;
+import br.com.microservices.orchestrated.orchestratorservice.core.timeout.SagaTimeoutStats;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/saga")
+public class SagaController {
+
+    private final SagaRegistry sagaRegistry;
+    private final SagaTimeoutScheduler sagaTimeoutScheduler;
+    private final SagaDeduplicator sagaDeduplicator;
+    private final SagaAdmissionController sagaAdmissionController;
+
+    @GetMapping("/registry")
+    public ResponseEntity<SagaRegistryStats> getRegistryStats() {
+        return ResponseEntity.ok(sagaRegistry.stats());
+    }
+
+    @GetMapping("/timeouts")
+    public ResponseEntity<SagaTimeoutStats> getTimeoutStats() {
+        return ResponseEntity.ok(sagaTimeoutScheduler.stats());
+    }
+
+    @GetMapping("/dedup")
+    public ResponseEntity<DedupStats> getDedupStats() {
+        return ResponseEntity.ok(sagaDeduplicator.stats());
+    }
+
+    @GetMapping("/admission")
+    public ResponseEntity<AdmissionStats> getAdmissionStats() {
+        return ResponseEntity.ok(sagaAdmissionController.stats());
+    }
+
+    @GetMapping("/{transactionId}")
+    public ResponseEntity<SagaState> findByTransactionId(@PathVariable String transactionId) {
+        return ResponseEntity.ok(sagaRegistry.find(transactionId)
+                .orElseThrow(() -> new ValidationException("Saga not in flight for transactionId " + transactionId)));
+    }
+}
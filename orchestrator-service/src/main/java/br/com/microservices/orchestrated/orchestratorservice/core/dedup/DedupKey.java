@@ -0,0 +1,4 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.dedup;
+
+public record DedupKey(String transactionId, byte source, byte status) {
+}
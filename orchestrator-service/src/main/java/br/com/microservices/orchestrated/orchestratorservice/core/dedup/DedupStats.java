@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.dedup;
+
+public record DedupStats(boolean enabled,
+                         long checked,
+                         long droppedDuplicates,
+                         long bloomPositives,
+                         long falsePositives,
+                         double falsePositiveRate,
+                         int lruSize,
+                         long memoryBytes) {
+}
@@ -0,0 +1,123 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.dedup;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drops redelivered {@code (transactionId, source, status)} transitions. The time-windowed Bloom filter
+ * answers the common "never seen" case without locking; its positives are confirmed against a bounded
+ * LRU of exact keys, so a false positive never drops a legitimate transition.
+ */
+@Component
+public class SagaDeduplicator {
+
+    private static final byte NONE = -1;
+    private static final long ESTIMATED_LRU_ENTRY_BYTES = 160;
+
+    private final boolean enabled;
+    private final long windowMs;
+    private final int lruCapacity;
+    private final TimeWindowedBloomFilter bloomFilter;
+    private final Map<DedupKey, Long> recent;
+
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder droppedDuplicates = new LongAdder();
+    private final LongAdder bloomPositives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public SagaDeduplicator(@Value("${saga.dedup.enabled}") boolean enabled,
+                            @Value("${saga.dedup.window-ms}") long windowMs,
+                            @Value("${saga.dedup.expected-insertions}") long expectedInsertions,
+                            @Value("${saga.dedup.false-positive-probability}") double falsePositiveProbability,
+                            @Value("${saga.dedup.lru-capacity}") int lruCapacity) {
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.lruCapacity = lruCapacity;
+        this.bloomFilter = new TimeWindowedBloomFilter(expectedInsertions, falsePositiveProbability, windowMs);
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DedupKey, Long> eldest) {
+                return size() > SagaDeduplicator.this.lruCapacity;
+            }
+        };
+    }
+
+    public DedupKey keyOf(Event event) {
+        return new DedupKey(event.getTransactionId(),
+                event.getSource() == null ? NONE : (byte) event.getSource().ordinal(),
+                event.getStatus() == null ? NONE : (byte) event.getStatus().ordinal());
+    }
+
+    public boolean isDuplicate(DedupKey key) {
+        if (!enabled) {
+            return false;
+        }
+        checked.increment();
+        var now = System.currentTimeMillis();
+        var hash1 = hash1(key);
+        var hash2 = hash2(key);
+        if (!bloomFilter.mightContain(hash1, hash2, now)) {
+            return false;
+        }
+        bloomPositives.increment();
+        Long seenAt;
+        synchronized (recent) {
+            seenAt = recent.get(key);
+        }
+        if (seenAt != null && now - seenAt < 2 * windowMs) {
+            droppedDuplicates.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    public void markProcessed(DedupKey key) {
+        if (!enabled) {
+            return;
+        }
+        var now = System.currentTimeMillis();
+        bloomFilter.put(hash1(key), hash2(key), now);
+        synchronized (recent) {
+            recent.put(key, now);
+        }
+    }
+
+    public DedupStats stats() {
+        int lruSize;
+        synchronized (recent) {
+            lruSize = recent.size();
+        }
+        var negatives = checked.sum() - droppedDuplicates.sum();
+        return new DedupStats(enabled,
+                checked.sum(),
+                droppedDuplicates.sum(),
+                bloomPositives.sum(),
+                falsePositives.sum(),
+                negatives == 0 ? 0 : (double) falsePositives.sum() / negatives,
+                lruSize,
+                bloomFilter.memoryBytes() + lruSize * ESTIMATED_LRU_ENTRY_BYTES);
+    }
+
+    private static long hash1(DedupKey key) {
+        return mix(SagaKey.hi(key.transactionId()), key.source(), key.status());
+    }
+
+    private static long hash2(DedupKey key) {
+        return mix(SagaKey.lo(key.transactionId()), key.status(), key.source()) | 1;
+    }
+
+    private static long mix(long hash, byte first, byte second) {
+        var h = hash ^ ((long) first << 8 | (second & 0xff)) * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
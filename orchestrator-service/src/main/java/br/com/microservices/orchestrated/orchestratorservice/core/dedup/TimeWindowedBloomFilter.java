@@ -0,0 +1,86 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.dedup;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter split in two generations. Inserts go to the current generation and lookups check both;
+ * every {@code windowMs} the older generation is cleared and becomes the current one, so a key is
+ * remembered for at least one and at most two windows without the filter ever filling up.
+ */
+public class TimeWindowedBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long bitCount;
+    private final int hashCount;
+    private final long windowMs;
+    private final AtomicLongArray[] generations = new AtomicLongArray[2];
+    private volatile int current;
+    private volatile long nextRotation;
+
+    public TimeWindowedBloomFilter(long expectedInsertions, double falsePositiveProbability, long windowMs) {
+        var bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (LN2 * LN2));
+        var words = (int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+        this.bitCount = (long) words * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN2));
+        this.windowMs = windowMs;
+        this.generations[0] = new AtomicLongArray(words);
+        this.generations[1] = new AtomicLongArray(words);
+        this.nextRotation = System.currentTimeMillis() + windowMs;
+    }
+
+    public boolean mightContain(long hash1, long hash2, long now) {
+        rotateIfNeeded(now);
+        return contains(generations[current], hash1, hash2) || contains(generations[1 - current], hash1, hash2);
+    }
+
+    public void put(long hash1, long hash2, long now) {
+        rotateIfNeeded(now);
+        var bits = generations[current];
+        for (int i = 0; i < hashCount; i++) {
+            var index = bitIndex(hash1, hash2, i);
+            var word = (int) (index >>> 6);
+            var mask = 1L << index;
+            var value = bits.get(word);
+            while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                value = bits.get(word);
+            }
+        }
+    }
+
+    public long memoryBytes() {
+        return 2 * bitCount / Byte.SIZE;
+    }
+
+    private boolean contains(AtomicLongArray bits, long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            var index = bitIndex(hash1, hash2, i);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bitIndex(long hash1, long hash2, int i) {
+        return Math.floorMod(hash1 + i * hash2, bitCount);
+    }
+
+    private void rotateIfNeeded(long now) {
+        if (now < nextRotation) {
+            return;
+        }
+        synchronized (this) {
+            if (now < nextRotation) {
+                return;
+            }
+            var oldest = 1 - current;
+            var bits = generations[oldest];
+            for (int i = 0; i < bits.length(); i++) {
+                bits.set(i, 0);
+            }
+            current = oldest;
+            nextRotation = now + windowMs;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.dto;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EventDelta {
+
+    private String id;
+    private String transactionId;
+    private String orderId;
+    private EEventSource source;
+    private ESagaStatus status;
+    private History history;
+    private double totalAmount;
+    private int totalItems;
+}
@@ -0,0 +1,14 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.journal;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.HistogramSnapshot;
+
+public record JournalStats(boolean enabled,
+                           long segmentId,
+                           long appended,
+                           long flushes,
+                           long snapshots,
+                           long recoveredSagas,
+                           long recoveryMillis,
+                           HistogramSnapshot appendLatencyMicros,
+                           HistogramSnapshot flushLatencyMicros) {
+}
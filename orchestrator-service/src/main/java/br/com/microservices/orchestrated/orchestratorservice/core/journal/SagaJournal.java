@@ -0,0 +1,445 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.journal;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.Histogram;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaRegistry;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaRegistryListener;
+import br.com.microservices.orchestrated.orchestratorservice.core.timeout.SagaTimeoutScheduler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of saga registry transitions.
+ * <p>
+ * Records have a fixed size and are written into memory-mapped segment files. A flusher thread forces the
+ * dirty range to disk every {@code saga.journal.flush-interval-ms}; with {@code sync-commit} writers wait for
+ * the flush covering their record, so one fsync is shared by every transition appended in that window.
+ * Snapshots of the registry let recovery replay only the segments written after the latest snapshot; the
+ * registry hands the snapshot a copy of each segment, so the file is written without holding segment locks.
+ * Recovered sagas get their step timeouts re-armed from the step and time they were last at.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SagaJournal implements SagaRegistryListener {
+
+    private static final byte REGISTERED = 1;
+    private static final byte UPDATED = 2;
+    private static final byte COMPLETED = 3;
+    private static final int RECORD_SIZE = 1 + 2 * Long.BYTES + 3 + Long.BYTES + Integer.BYTES;
+    private static final int CHECKSUM_OFFSET = RECORD_SIZE - Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    @Value("${saga.journal.enabled}")
+    private boolean enabled;
+
+    @Value("${saga.journal.directory}")
+    private String directory;
+
+    @Value("${saga.journal.segment-size-bytes}")
+    private int segmentSizeBytes;
+
+    @Value("${saga.journal.flush-interval-ms}")
+    private long flushIntervalMs;
+
+    @Value("${saga.journal.sync-commit}")
+    private boolean syncCommit;
+
+    @Value("${saga.journal.snapshot-interval-ms}")
+    private long snapshotIntervalMs;
+
+    private final SagaRegistry sagaRegistry;
+    private final SagaTimeoutScheduler sagaTimeoutScheduler;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Object durableMonitor = new Object();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final Histogram appendLatencyMicros = new Histogram();
+    private final Histogram flushLatencyMicros = new Histogram();
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong snapshots = new AtomicLong();
+
+    private Path journalDirectory;
+    private MappedByteBuffer segment;
+    private long segmentId;
+    private int forcedPosition;
+    private long appendedSequence;
+    private volatile long durableSequence;
+    private volatile boolean running;
+    private Thread flusher;
+    private Thread snapshotter;
+    private long recoveryMillis;
+    private long recoveredSagas;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journalDirectory = Path.of(directory);
+        Files.createDirectories(journalDirectory);
+        recover();
+        armRecoveredTimeouts();
+        openSegment(segmentId + 1);
+        running = true;
+        flusher = startDaemon("saga-journal-flusher", this::flushLoop);
+        snapshotter = startDaemon("saga-journal-snapshotter", this::snapshotLoop);
+        sagaRegistry.setListener(this);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        sagaRegistry.setListener(null);
+        running = false;
+        flusher.interrupt();
+        snapshotter.interrupt();
+        flusher.join();
+        snapshotter.join();
+        flush();
+    }
+
+    @Override
+    public long onRegistered(long hi, long lo, long now) {
+        return append(REGISTERED, hi, lo, (byte) -1, (byte) -1, (byte) -1, now);
+    }
+
+    @Override
+    public long onUpdated(long hi, long lo, byte source, byte status, byte step, long now) {
+        return append(UPDATED, hi, lo, source, status, step, now);
+    }
+
+    @Override
+    public long onCompleted(long hi, long lo, long now) {
+        return append(COMPLETED, hi, lo, (byte) -1, (byte) -1, (byte) -1, now);
+    }
+
+    /**
+     * With {@code sync-commit} waits for the flush covering the record; called by the registry after it
+     * released the segment lock the record was appended under.
+     */
+    @Override
+    public void awaitDurable(long sequence) {
+        if (!syncCommit) {
+            return;
+        }
+        synchronized (durableMonitor) {
+            while (durableSequence < sequence && running) {
+                try {
+                    durableMonitor.wait(flushIntervalMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public JournalStats stats() {
+        return new JournalStats(enabled, segmentId, appended.get(), flushes.get(), snapshots.get(),
+                recoveredSagas, recoveryMillis, appendLatencyMicros.snapshot(), flushLatencyMicros.snapshot());
+    }
+
+    private long append(byte type, long hi, long lo, byte source, byte status, byte step, long timestamp) {
+        var start = System.nanoTime();
+        long sequence;
+        writeLock.lock();
+        try {
+            if (segment.remaining() < RECORD_SIZE) {
+                rollSegment();
+            }
+            record.clear();
+            record.put(type).putLong(hi).putLong(lo).put(source).put(status).put(step).putLong(timestamp);
+            crc.reset();
+            crc.update(record.array(), 0, CHECKSUM_OFFSET);
+            record.putInt((int) crc.getValue());
+            segment.put(record.array());
+            sequence = ++appendedSequence;
+        } finally {
+            writeLock.unlock();
+        }
+        appended.incrementAndGet();
+        appendLatencyMicros.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        return sequence;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                Thread.sleep(flushIntervalMs);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            flush();
+        }
+    }
+
+    private void flush() {
+        MappedByteBuffer target;
+        int from;
+        int to;
+        long sequence;
+        writeLock.lock();
+        try {
+            if (appendedSequence == durableSequence) {
+                return;
+            }
+            target = segment;
+            from = forcedPosition;
+            to = segment.position();
+            sequence = appendedSequence;
+            forcedPosition = to;
+        } finally {
+            writeLock.unlock();
+        }
+        var start = System.nanoTime();
+        if (to > from) {
+            target.force(from, to - from);
+        }
+        flushLatencyMicros.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        flushes.incrementAndGet();
+        markDurable(sequence);
+    }
+
+    private void markDurable(long sequence) {
+        synchronized (durableMonitor) {
+            if (sequence > durableSequence) {
+                durableSequence = sequence;
+            }
+            durableMonitor.notifyAll();
+        }
+    }
+
+    private void rollSegment() {
+        segment.force();
+        markDurable(appendedSequence);
+        openSegment(segmentId + 1);
+    }
+
+    private void openSegment(long id) {
+        try (var channel = FileChannel.open(segmentPath(id),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSizeBytes);
+            segmentId = id;
+            forcedPosition = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open saga journal segment " + id, e);
+        }
+    }
+
+    private void snapshotLoop() {
+        while (running) {
+            try {
+                Thread.sleep(snapshotIntervalMs);
+                snapshot();
+            } catch (InterruptedException e) {
+                continue;
+            } catch (Exception e) {
+                log.error("Error writing saga journal snapshot", e);
+            }
+        }
+    }
+
+    private void snapshot() throws IOException {
+        long firstSegment;
+        writeLock.lock();
+        try {
+            rollSegment();
+            firstSegment = segmentId;
+        } finally {
+            writeLock.unlock();
+        }
+        var temporary = journalDirectory.resolve(SNAPSHOT_PREFIX + firstSegment + ".tmp");
+        var count = new long[1];
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeLong(firstSegment);
+            sagaRegistry.forEachEntry((hi, lo, source, status, step, startedAt, updatedAt) -> {
+                try {
+                    output.writeLong(hi);
+                    output.writeLong(lo);
+                    output.writeByte(source);
+                    output.writeByte(status);
+                    output.writeByte(step);
+                    output.writeLong(startedAt);
+                    output.writeLong(updatedAt);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, snapshotPath(firstSegment), StandardCopyOption.ATOMIC_MOVE);
+        deleteOlderThan(firstSegment);
+        snapshots.incrementAndGet();
+        log.info("Saga journal snapshot written with {} sagas, replay starts at segment {}", count[0], firstSegment);
+    }
+
+    private void deleteOlderThan(long firstSegment) throws IOException {
+        for (var file : list(SEGMENT_PREFIX)) {
+            if (idOf(file, SEGMENT_PREFIX) < firstSegment) {
+                Files.deleteIfExists(file);
+            }
+        }
+        for (var file : list(SNAPSHOT_PREFIX)) {
+            if (idOf(file, SNAPSHOT_PREFIX) < firstSegment) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        var start = System.nanoTime();
+        var snapshotFiles = list(SNAPSHOT_PREFIX);
+        var firstSegment = 0L;
+        if (!snapshotFiles.isEmpty()) {
+            firstSegment = loadSnapshot(snapshotFiles.get(snapshotFiles.size() - 1));
+        }
+        var replayed = 0L;
+        for (var file : list(SEGMENT_PREFIX)) {
+            var id = idOf(file, SEGMENT_PREFIX);
+            segmentId = Math.max(segmentId, id);
+            if (id >= firstSegment) {
+                replayed += replay(file);
+            }
+        }
+        recoveredSagas = sagaRegistry.size();
+        recoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Saga journal recovered {} in-flight sagas ({} records replayed) in {} ms",
+                recoveredSagas, replayed, recoveryMillis);
+    }
+
+    /**
+     * The journal keeps saga keys and steps but not the events, so a recovered saga that hears nothing back
+     * before its step timeout cannot be compensated from here; it is expired so it stops holding registry
+     * capacity and counting against admission.
+     */
+    private void armRecoveredTimeouts() {
+        var armed = new long[1];
+        sagaRegistry.forEachEntry((hi, lo, source, status, step, startedAt, updatedAt) -> {
+            var topic = SagaRegistry.topicOf(step);
+            sagaTimeoutScheduler.scheduleRecovered(hi, lo, topic, updatedAt, () -> expireRecovered(hi, lo, topic));
+            armed[0]++;
+        });
+        if (armed[0] > 0) {
+            log.info("Saga journal re-armed step timeouts for {} recovered sagas", armed[0]);
+        }
+    }
+
+    private void expireRecovered(long hi, long lo, ETopics step) {
+        if (sagaRegistry.expire(hi, lo)) {
+            log.error("Recovered saga {} timed out waiting on {} with no event since the restart, expiring it",
+                    "%016x%016x".formatted(hi, lo), step == null ? "its first step" : step);
+        }
+    }
+
+    private long loadSnapshot(Path file) throws IOException {
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            var firstSegment = input.readLong();
+            segmentId = Math.max(segmentId, firstSegment);
+            var entrySize = 2 * Long.BYTES + 3 + 2 * Long.BYTES;
+            var entries = (Files.size(file) - Long.BYTES) / entrySize;
+            for (long i = 0; i < entries; i++) {
+                sagaRegistry.restore(input.readLong(), input.readLong(), input.readByte(), input.readByte(),
+                        input.readByte(), input.readLong(), input.readLong());
+            }
+            return firstSegment;
+        }
+    }
+
+    private long replay(Path file) throws IOException {
+        var replayed = 0L;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            var bytes = new byte[RECORD_SIZE];
+            while (buffer.remaining() >= RECORD_SIZE) {
+                buffer.get(bytes);
+                crc.reset();
+                crc.update(bytes, 0, CHECKSUM_OFFSET);
+                var entry = ByteBuffer.wrap(bytes);
+                var type = entry.get();
+                if (type == 0 || entry.getInt(CHECKSUM_OFFSET) != (int) crc.getValue()) {
+                    break;
+                }
+                var hi = entry.getLong();
+                var lo = entry.getLong();
+                var source = entry.get();
+                var status = entry.get();
+                var step = entry.get();
+                var timestamp = entry.getLong();
+                switch (type) {
+                    case REGISTERED -> sagaRegistry.restore(hi, lo, source, status, step, timestamp, timestamp);
+                    case UPDATED -> sagaRegistry.restoreStep(hi, lo, source, status, step, timestamp);
+                    case COMPLETED -> sagaRegistry.restoreCompletion(hi, lo);
+                    default -> log.warn("Unknown saga journal record type {} in {}", type, file);
+                }
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    private List<Path> list(String prefix) throws IOException {
+        var files = new ArrayList<Path>();
+        try (var stream = Files.list(journalDirectory)) {
+            stream.filter(file -> file.getFileName().toString().startsWith(prefix)
+                            && file.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .forEach(files::add);
+        }
+        files.sort(Comparator.comparingLong(file -> idOf(file, prefix)));
+        return files;
+    }
+
+    private static long idOf(Path file, String prefix) {
+        var name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    private Path segmentPath(long id) {
+        return journalDirectory.resolve(SEGMENT_PREFIX + id + FILE_SUFFIX);
+    }
+
+    private Path snapshotPath(long id) {
+        return journalDirectory.resolve(SNAPSHOT_PREFIX + id + FILE_SUFFIX);
+    }
+
+    private static Thread startDaemon(String name, Runnable task) {
+        var thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
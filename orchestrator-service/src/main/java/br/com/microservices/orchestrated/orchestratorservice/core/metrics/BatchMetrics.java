@@ -0,0 +1,44 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch listener metrics, exported through Micrometer with p50/p99/p999 and a percentile histogram:
+ * {@code saga.batch.size} counts the records of each polled batch and {@code saga.batch.time} measures
+ * routing the batch until its last send was acknowledged.
+ */
+@Component
+public class BatchMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private final DistributionSummary batchSize;
+    private final Timer batchTime;
+
+    public BatchMetrics(MeterRegistry meterRegistry) {
+        this.batchSize = DistributionSummary.builder("saga.batch.size")
+                .baseUnit("records")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(10_000.0)
+                .register(meterRegistry);
+        this.batchTime = Timer.builder("saga.batch.time")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(1))
+                .register(meterRegistry);
+    }
+
+    public void record(int size, long elapsedNanos) {
+        batchSize.record(size);
+        batchTime.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.metrics;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.codec.WireFormat;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size and cost of encoding and decoding saga events, split by wire format, so JSON and binary topics can be
+ * compared on live traffic while they are migrated.
+ */
+@Component
+public class CodecMetrics {
+
+    private final Histogram[] encodedBytes = histograms();
+    private final Histogram[] encodeMicros = histograms();
+    private final Histogram[] decodedBytes = histograms();
+    private final Histogram[] decodeMicros = histograms();
+
+    public void recordEncode(WireFormat format, int bytes, long nanos) {
+        encodedBytes[format.ordinal()].record(bytes);
+        encodeMicros[format.ordinal()].record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void recordDecode(WireFormat format, int bytes, long nanos) {
+        decodedBytes[format.ordinal()].record(bytes);
+        decodeMicros[format.ordinal()].record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public CodecStats stats() {
+        return new CodecStats(snapshot(encodedBytes), snapshot(encodeMicros),
+                snapshot(decodedBytes), snapshot(decodeMicros));
+    }
+
+    private static Histogram[] histograms() {
+        var histograms = new Histogram[WireFormat.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+        return histograms;
+    }
+
+    private static Map<WireFormat, HistogramSnapshot> snapshot(Histogram[] histograms) {
+        var snapshots = new EnumMap<WireFormat, HistogramSnapshot>(WireFormat.class);
+        for (var format : WireFormat.values()) {
+            var snapshot = histograms[format.ordinal()].snapshot();
+            if (snapshot.count() > 0) {
+                snapshots.put(format, snapshot);
+            }
+        }
+        return snapshots;
+    }
+}
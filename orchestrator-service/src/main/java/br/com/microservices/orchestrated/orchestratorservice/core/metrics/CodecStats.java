@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.metrics;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.codec.WireFormat;
+
+import java.util.Map;
+
+public record CodecStats(Map<WireFormat, HistogramSnapshot> encodedBytes,
+                         Map<WireFormat, HistogramSnapshot> encodeMicros,
+                         Map<WireFormat, HistogramSnapshot> decodedBytes,
+                         Map<WireFormat, HistogramSnapshot> decodeMicros) {
+}
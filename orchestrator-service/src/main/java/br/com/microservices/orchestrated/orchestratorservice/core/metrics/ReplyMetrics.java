@@ -0,0 +1,34 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size and decode cost of participant replies on the orchestrator topic, split by wire format, so the full
+ * and delta formats can be compared on the same traffic.
+ */
+@Component
+public class ReplyMetrics {
+
+    private final Histogram fullBytes = new Histogram();
+    private final Histogram fullDecodeMicros = new Histogram();
+    private final Histogram deltaBytes = new Histogram();
+    private final Histogram deltaDecodeMicros = new Histogram();
+
+    public void record(boolean delta, int bytes, long decodeNanos) {
+        var micros = TimeUnit.NANOSECONDS.toMicros(decodeNanos);
+        if (delta) {
+            deltaBytes.record(bytes);
+            deltaDecodeMicros.record(micros);
+        } else {
+            fullBytes.record(bytes);
+            fullDecodeMicros.record(micros);
+        }
+    }
+
+    public ReplyStats stats() {
+        return new ReplyStats(fullBytes.snapshot(), fullDecodeMicros.snapshot(),
+                deltaBytes.snapshot(), deltaDecodeMicros.snapshot());
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.metrics;
+
+public record ReplyStats(HistogramSnapshot fullBytes,
+                         HistogramSnapshot fullDecodeMicros,
+                         HistogramSnapshot deltaBytes,
+                         HistogramSnapshot deltaDecodeMicros) {
+}
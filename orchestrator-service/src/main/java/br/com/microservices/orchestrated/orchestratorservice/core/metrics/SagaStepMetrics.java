@@ -0,0 +1,110 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.metrics;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-hop saga timings, exported as Micrometer timers with p50/p99/p999 and a percentile histogram:
+ * <ul>
+ *     <li>{@code saga.queueing}: Kafka record timestamp until the orchestrator listener receives it, per topic;</li>
+ *     <li>{@code saga.step}: previous history entry until the participant's own entry, per source, i.e. the
+ *     step end to end, the time the request waited in the participant topic plus the participant's processing;</li>
+ *     <li>{@code saga.participant}: the participant consuming the request until it produced the reply, per
+ *     source, taken from the consumed-at header the participant stamps on the reply, so a slow step can be told
+ *     apart from a backlog in front of it;</li>
+ *     <li>{@code saga.total}: first until last history entry of a finished saga, per final status.</li>
+ * </ul>
+ * Timers are registered up front per enum constant so recording on the consumer thread never allocates.
+ */
+@Component
+public class SagaStepMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofMinutes(5);
+
+    private final Timer[] queueing;
+    private final Timer[] steps;
+    private final Timer[] participants;
+    private final Timer[] totals;
+
+    public SagaStepMetrics(MeterRegistry meterRegistry) {
+        this.queueing = timers(meterRegistry, "saga.queueing", "topic", ETopics.values());
+        this.steps = timers(meterRegistry, "saga.step", "source", EEventSource.values());
+        this.participants = timers(meterRegistry, "saga.participant", "source", EEventSource.values());
+        this.totals = timers(meterRegistry, "saga.total", "status", ESagaStatus.values());
+    }
+
+    public void recordQueueing(ETopics topic, long recordTimestamp) {
+        if (recordTimestamp > 0) {
+            queueing[topic.ordinal()].record(System.currentTimeMillis() - recordTimestamp, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordStep(Event event) {
+        if (event == null) {
+            return;
+        }
+        var history = event.getEventHistory();
+        if (event.getSource() == null || history == null || history.size() < 2) {
+            return;
+        }
+        var previous = history.get(history.size() - 2).getCreateAt();
+        var current = history.get(history.size() - 1).getCreateAt();
+        if (previous != null && current != null) {
+            steps[event.getSource().ordinal()].record(toMillis(current) - toMillis(previous), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordParticipant(EEventSource source, long consumedAt, long replyTimestamp) {
+        if (source != null && consumedAt > 0 && replyTimestamp >= consumedAt) {
+            participants[source.ordinal()].record(replyTimestamp - consumedAt, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public long recordTotal(Event event) {
+        if (event == null) {
+            return -1;
+        }
+        var history = event.getEventHistory();
+        if (event.getStatus() == null || history == null || history.isEmpty()) {
+            return -1;
+        }
+        var first = history.get(0).getCreateAt();
+        var last = history.get(history.size() - 1).getCreateAt();
+        if (first == null || last == null) {
+            return -1;
+        }
+        var total = toMillis(last) - toMillis(first);
+        totals[event.getStatus().ordinal()].record(total, TimeUnit.MILLISECONDS);
+        return total;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + dateTime.getNano() / 1_000_000;
+    }
+
+    private static Timer[] timers(MeterRegistry meterRegistry, String name, String tag, Enum<?>[] constants) {
+        var timers = new Timer[constants.length];
+        for (var constant : constants) {
+            timers[constant.ordinal()] = Timer.builder(name)
+                    .tag(tag, constant.name())
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(meterRegistry);
+        }
+        return timers;
+    }
+}
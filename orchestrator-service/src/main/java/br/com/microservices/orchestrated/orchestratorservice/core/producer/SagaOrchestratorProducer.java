@@ -1,23 +1,94 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.producer;
 
+import br.com.microservices.orchestrated.orchestratorservice.core.codec.EventCodec;
+import br.com.microservices.orchestrated.orchestratorservice.core.codec.WireFormat;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.EventDelta;
+import br.com.microservices.orchestrated.orchestratorservice.core.metrics.CodecMetrics;
+import br.com.microservices.orchestrated.orchestratorservice.core.tracing.Tracer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @AllArgsConstructor
 @Component
 public class SagaOrchestratorProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ProducerPipeline producerPipeline;
+    private final Tracer tracer;
+    private final EventCodec eventCodec;
+    private final CodecMetrics codecMetrics;
+
+    public static final String REPLY_FORMAT_HEADER = "saga-reply-format";
+    public static final String REPLY_RESEND_HEADER = "saga-reply-resend";
+    public static final String CONSUMED_AT_HEADER = "saga-consumed-at";
+    public static final String DELTA_REPLY_FORMAT = "delta";
+    private static final byte[] DELTA_REPLY_FORMAT_BYTES = DELTA_REPLY_FORMAT.getBytes(StandardCharsets.US_ASCII);
+
+    public CompletableFuture<Void> sendEvent(Event event, String topic, String key, boolean deltaReply) {
+        return send(event, topic, key, deltaReply, new EnumMap<>(WireFormat.class));
+    }
+
+    /**
+     * Sends the event to every topic, encoding it once per wire format. With deltaReply the participants
+     * are told they may answer with a delta, which the caller sets only while it holds the event snapshot
+     * the delta will be merged into.
+     */
+    public CompletableFuture<Void> sendEvent(Event event, List<String> topics, String key, boolean deltaReply) {
+        if (topics.size() == 1) {
+            return sendEvent(event, topics.get(0), key, deltaReply);
+        }
+        var encoded = new EnumMap<WireFormat, byte[]>(WireFormat.class);
+        var sends = new CompletableFuture<?>[topics.size()];
+        for (var i = 0; i < sends.length; i++) {
+            sends[i] = send(event, topics.get(i), key, deltaReply, encoded);
+        }
+        return CompletableFuture.allOf(sends);
+    }
+
+    /**
+     * Asks the participant that sent a delta to resend that reply in full, for when the snapshot it should
+     * be merged into is gone, e.g. after a restart or a partition moving to this instance.
+     */
+    public CompletableFuture<Void> requestFullReply(String topic, EventDelta delta, byte[] value) {
+        log.info("Requesting full reply of saga {} on topic {}", delta.getTransactionId(), topic);
+        var record = new ProducerRecord<>(topic, delta.getOrderId(), value);
+        tracer.inject(record.headers());
+        record.headers().add(REPLY_RESEND_HEADER, delta.getTransactionId().getBytes(StandardCharsets.US_ASCII));
+        return producerPipeline.send(record);
+    }
+
+    public void await(CompletableFuture<Void> sends) {
+        producerPipeline.await(sends);
+    }
+
+    public void flush() {
+        producerPipeline.flush();
+    }
 
-    public void sendEvent(String paylod, String topic) {
-        try {
-            log.info("Sending event to topic {} witg data {}", topic, paylod);
-            kafkaTemplate.send(topic, paylod);
-        } catch (Exception e) {
-            log.error("Error tryign to send data to topic {} with data {}", topic, paylod, e);
+    private CompletableFuture<Void> send(Event event, String topic, String key, boolean deltaReply,
+                                         EnumMap<WireFormat, byte[]> encoded) {
+        log.info("Sending event to topic {} witg data {}", topic, event);
+        var value = encoded.computeIfAbsent(eventCodec.formatOf(topic), format -> encode(event, format));
+        var record = new ProducerRecord<>(topic, key, value);
+        tracer.inject(record.headers());
+        if (deltaReply) {
+            record.headers().add(REPLY_FORMAT_HEADER, DELTA_REPLY_FORMAT_BYTES);
         }
+        return producerPipeline.send(record);
+    }
+
+    private byte[] encode(Event event, WireFormat format) {
+        var start = System.nanoTime();
+        var value = eventCodec.encode(event, format);
+        codecMetrics.recordEncode(format, value.length, System.nanoTime() - start);
+        return value;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+@FunctionalInterface
+public interface SagaEntryVisitor {
+
+    void visit(long hi, long lo, byte source, byte status, byte step, long startedAt, long updatedAt);
+}
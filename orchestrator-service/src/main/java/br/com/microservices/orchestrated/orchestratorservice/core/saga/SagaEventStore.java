@@ -0,0 +1,99 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.EventDelta;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.History;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last event the orchestrator dispatched for each in-flight saga, kept only when participants reply with
+ * deltas. A delta reply is rebuilt into a full event from that snapshot, exactly as a participant would
+ * have returned it, so routing and joins behave the same in both wire formats. Participants are only
+ * offered the delta format for sagas held here.
+ */
+@Slf4j
+@Component
+public class SagaEventStore {
+
+    private final boolean enabled;
+    private final int maxEvents;
+    private final Map<String, Event> events = new ConcurrentHashMap<>();
+
+    public SagaEventStore(@Value("${saga.reply.delta-enabled}") boolean enabled,
+                          @Value("${saga.registry.max-sagas}") int maxEvents) {
+        this.enabled = enabled;
+        this.maxEvents = maxEvents;
+    }
+
+    public void put(Event event) {
+        if (!enabled) {
+            return;
+        }
+        if (events.size() >= maxEvents && !events.containsKey(event.getTransactionId())) {
+            log.warn("Saga event store is full, delta replies for transaction {} cannot be merged",
+                    event.getTransactionId());
+            return;
+        }
+        var history = event.getEventHistory() == null
+                ? new ArrayList<History>(1)
+                : new ArrayList<>(event.getEventHistory());
+        events.put(event.getTransactionId(), Event.builder()
+                .id(event.getId())
+                .transactionId(event.getTransactionId())
+                .orderId(event.getOrderId())
+                .payload(event.getPayload())
+                .source(event.getSource())
+                .status(event.getStatus())
+                .eventHistory(history)
+                .createdAt(event.getCreatedAt())
+                .claimCheck(event.getClaimCheck())
+                .build());
+    }
+
+    public Event merge(EventDelta delta) {
+        var dispatched = events.get(delta.getTransactionId());
+        if (dispatched == null) {
+            return null;
+        }
+        var history = new ArrayList<>(dispatched.getEventHistory());
+        if (delta.getHistory() != null) {
+            history.add(delta.getHistory());
+        }
+        var payload = dispatched.getPayload();
+        if (payload != null && delta.getTotalAmount() > 0) {
+            payload.setTotalAmount(delta.getTotalAmount());
+            payload.setTotalItens(delta.getTotalItems());
+        }
+        return Event.builder()
+                .id(dispatched.getId())
+                .transactionId(dispatched.getTransactionId())
+                .orderId(dispatched.getOrderId())
+                .payload(payload)
+                .source(delta.getSource())
+                .status(delta.getStatus())
+                .eventHistory(history)
+                .createdAt(dispatched.getCreatedAt())
+                .claimCheck(dispatched.getClaimCheck())
+                .build();
+    }
+
+    public boolean contains(String transactionId) {
+        return enabled && events.containsKey(transactionId);
+    }
+
+    public void remove(String transactionId) {
+        if (enabled) {
+            events.remove(transactionId);
+        }
+    }
+
+    public int size() {
+        return events.size();
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaHandler.*;
+
+@Slf4j
+@Component
+public class SagaExecutionController {
+
+    private static final String SAGA_LOG_ID = "ORDER ID: %s | TRANSACTION ID: %s | EVENT ID: %s";
+
+    /**
+     * Transition table indexed by [source.ordinal()][status.ordinal()], built once from
+     * {@link SagaHandler#SAGA_HANDLER} so routing a message is two array reads.
+     */
+    private final ETopics[][] transitions;
+
+    private final ETopics[] compensations;
+
+    private final boolean[] compensationSteps;
+
+    public SagaExecutionController() {
+        this.transitions = buildTransitions();
+        this.compensations = new ETopics[ETopics.values().length];
+        this.compensationSteps = new boolean[ETopics.values().length];
+        for (var row : SAGA_COMPENSATION) {
+            compensations[row[STEP_INDEX].ordinal()] = row[COMPENSATION_INDEX];
+            compensationSteps[row[COMPENSATION_INDEX].ordinal()] = true;
+        }
+    }
+
+    public ETopics getNextTopic(Event event) {
+        if (ObjectUtils.isEmpty(event.getSource()) || ObjectUtils.isEmpty(event.getStatus())) {
+            throw new ValidationException("Source and status must be informed.");
+        }
+        var topic = transitions[event.getSource().ordinal()][event.getStatus().ordinal()];
+        if (topic == null) {
+            throw new ValidationException("Topic not found!");
+        }
+        logCurrentSaga(event, topic);
+        return topic;
+    }
+
+    public ETopics getCompensationTopic(ETopics step) {
+        return compensations[step.ordinal()];
+    }
+
+    public boolean isCompensationStep(ETopics step) {
+        return step != null && compensationSteps[step.ordinal()];
+    }
+
+    private static ETopics[][] buildTransitions() {
+        var table = new ETopics[EEventSource.values().length][ESagaStatus.values().length];
+        for (var row : SAGA_HANDLER) {
+            var source = (EEventSource) row[EVENT_SOURCE_INDEX];
+            var status = (ESagaStatus) row[SAGA_STATUS_INDEX];
+            if (table[source.ordinal()][status.ordinal()] != null) {
+                throw new IllegalStateException("Duplicated saga transition for " + source + " and " + status);
+            }
+            table[source.ordinal()][status.ordinal()] = (ETopics) row[TOPIC_INDEX];
+        }
+        return table;
+    }
+
+    private void logCurrentSaga(Event event, ETopics topic) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        var sagaId = createSagaId(event);
+        var source = event.getSource();
+        switch (event.getStatus()) {
+            case SUCCESS -> log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPIC {} | {}",
+                    source, topic, sagaId);
+            case ROLLBACK_PEDING -> log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK CURRENT SERVICE | NEXT TOPIC {} | {}",
+                    source, topic, sagaId);
+            case FAIL -> log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK PREVIOUS SERVICE | NEXT TOPIC {} | {}",
+                    source, topic, sagaId);
+        }
+    }
+
+    private String createSagaId(Event event) {
+        return String.format(SAGA_LOG_ID,
+                event.getPayload() != null ? event.getPayload().getId() : event.getOrderId(),
+                event.getTransactionId(),
+                event.getId());
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.*;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.*;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.*;
+
+public final class SagaHandler {
+
+    private SagaHandler() {
+    }
+
+    public static final Object[][] SAGA_HANDLER = {
+            {ORCHESTRATOR, SUCCESS, PRODUCT_VALIDATION_SUCCESS},
+            {ORCHESTRATOR, FAIL, FINISH_FAIL},
+
+            {PRODUCT_VALIDATION_SERVICE, ROLLBACK_PEDING, PRODUCT_VALIDATION_FAIL},
+            {PRODUCT_VALIDATION_SERVICE, FAIL, FINISH_FAIL},
+            {PRODUCT_VALIDATION_SERVICE, SUCCESS, PAYMENT_SUCCESS},
+
+            {PAYMENT_SERVICE, ROLLBACK_PEDING, PAYMENT_FAIL},
+            {PAYMENT_SERVICE, FAIL, PRODUCT_VALIDATION_FAIL},
+            {PAYMENT_SERVICE, SUCCESS, INVENTORY_SUCCESS},
+
+            {INVENTORY_SERVICE, ROLLBACK_PEDING, INVENTORY_FAIL},
+            {INVENTORY_SERVICE, FAIL, PAYMENT_FAIL},
+            {INVENTORY_SERVICE, SUCCESS, FINISH_SUCCESS}
+    };
+
+    public static final ETopics[][] SAGA_COMPENSATION = {
+            {PRODUCT_VALIDATION_SUCCESS, PRODUCT_VALIDATION_FAIL},
+            {PAYMENT_SUCCESS, PAYMENT_FAIL},
+            {INVENTORY_SUCCESS, INVENTORY_FAIL}
+    };
+
+    public static final Object[][] SAGA_PARALLEL_STAGE = {
+            {PRODUCT_VALIDATION_SERVICE, PRODUCT_VALIDATION_SUCCESS},
+            {PAYMENT_SERVICE, PAYMENT_SUCCESS}
+    };
+
+    public static final ETopics SAGA_PARALLEL_NEXT_STEP = INVENTORY_SUCCESS;
+
+    public static final int EVENT_SOURCE_INDEX = 0;
+    public static final int SAGA_STATUS_INDEX = 1;
+    public static final int TOPIC_INDEX = 2;
+
+    public static final int STEP_INDEX = 0;
+    public static final int COMPENSATION_INDEX = 1;
+
+    public static final int BRANCH_SOURCE_INDEX = 0;
+    public static final int BRANCH_STEP_INDEX = 1;
+}
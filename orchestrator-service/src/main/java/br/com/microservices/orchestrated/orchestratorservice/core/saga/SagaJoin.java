@@ -0,0 +1,112 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import org.springframework.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.FAIL;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.SUCCESS;
+
+/**
+ * Join point of a fanned-out saga stage. Collects one reply per branch, merges the branch histories and
+ * computed totals into a single event, and then tracks the compensation replies if any branch failed.
+ * Callers must synchronize on the join, since branch replies and the stage timeout run on different threads.
+ */
+public class SagaJoin {
+
+    private final Event event;
+    private int historyBaseline;
+    private final Map<EEventSource, ETopics> branches;
+    private final EnumSet<EEventSource> pending;
+    private final EnumSet<EEventSource> succeeded = EnumSet.noneOf(EEventSource.class);
+    private final EnumSet<EEventSource> failed = EnumSet.noneOf(EEventSource.class);
+    private boolean compensating;
+
+    public SagaJoin(Event event, Map<EEventSource, ETopics> branches) {
+        this.event = event;
+        this.historyBaseline = historySize();
+        this.branches = new EnumMap<>(branches);
+        this.pending = EnumSet.copyOf(branches.keySet());
+    }
+
+    public boolean accept(Event reply) {
+        var source = reply.getSource();
+        if (source == null || !pending.contains(source)) {
+            return false;
+        }
+        if (compensating) {
+            if (reply.getStatus() != FAIL) {
+                return false;
+            }
+        } else if (reply.getStatus() == SUCCESS) {
+            succeeded.add(source);
+        } else {
+            failed.add(source);
+        }
+        pending.remove(source);
+        merge(reply);
+        return true;
+    }
+
+    public void expirePending() {
+        failed.addAll(pending);
+        pending.clear();
+    }
+
+    public List<ETopics> startCompensation(SagaExecutionController sagaExecutionController) {
+        compensating = true;
+        historyBaseline = historySize();
+        pending.addAll(succeeded);
+        pending.addAll(failed);
+        var topics = new ArrayList<ETopics>(pending.size());
+        for (var source : pending) {
+            topics.add(sagaExecutionController.getCompensationTopic(branches.get(source)));
+        }
+        return topics;
+    }
+
+    public boolean isComplete() {
+        return pending.isEmpty();
+    }
+
+    public boolean isCompensating() {
+        return compensating;
+    }
+
+    public boolean hasFailures() {
+        return !failed.isEmpty();
+    }
+
+    public EnumSet<EEventSource> getFailed() {
+        return EnumSet.copyOf(failed);
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    private int historySize() {
+        return ObjectUtils.isEmpty(event.getEventHistory()) ? 0 : event.getEventHistory().size();
+    }
+
+    private void merge(Event reply) {
+        var history = reply.getEventHistory();
+        if (history != null) {
+            for (int i = historyBaseline; i < history.size(); i++) {
+                event.addHistory(history.get(i));
+            }
+        }
+        var payload = reply.getPayload();
+        if (payload != null && event.getPayload() != null && payload.getTotalAmount() > 0) {
+            event.getPayload().setTotalAmount(payload.getTotalAmount());
+            event.getPayload().setTotalItens(payload.getTotalItens());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaHandler.*;
+
+@Component
+public class SagaJoinCoordinator {
+
+    @Value("${saga.parallel.enabled}")
+    private boolean enabled;
+
+    private final Map<String, SagaJoin> joins = new ConcurrentHashMap<>();
+    private final Map<EEventSource, ETopics> branches = new EnumMap<>(EEventSource.class);
+    private final List<ETopics> parallelSteps;
+
+    public SagaJoinCoordinator() {
+        for (var row : SAGA_PARALLEL_STAGE) {
+            branches.put((EEventSource) row[BRANCH_SOURCE_INDEX], (ETopics) row[BRANCH_STEP_INDEX]);
+        }
+        this.parallelSteps = List.copyOf(branches.values());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public SagaJoin open(Event event) {
+        var join = new SagaJoin(event, branches);
+        joins.put(event.getTransactionId(), join);
+        return join;
+    }
+
+    public SagaJoin find(String transactionId) {
+        return joins.get(transactionId);
+    }
+
+    public void close(String transactionId) {
+        joins.remove(transactionId);
+    }
+
+    public List<ETopics> getParallelSteps() {
+        return parallelSteps;
+    }
+
+    public ETopics getFirstStep() {
+        return parallelSteps.get(0);
+    }
+
+    public ETopics getNextStep() {
+        return SAGA_PARALLEL_NEXT_STEP;
+    }
+
+    public int size() {
+        return joins.size();
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+/**
+ * 128-bit key of a transactionId, computed as two independently seeded 64-bit FNV-1a hashes finished with
+ * the murmur3 mixer. Never zero, so zero can mark an empty slot.
+ */
+public final class SagaKey {
+
+    private static final long HI_SEED = 0xcbf29ce484222325L;
+    private static final long LO_SEED = 0x9e3779b97f4a7c15L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SagaKey() {
+    }
+
+    public static long hi(String transactionId) {
+        return hash(transactionId, HI_SEED);
+    }
+
+    public static long lo(String transactionId) {
+        return hash(transactionId, LO_SEED);
+    }
+
+    private static long hash(String key, long seed) {
+        var h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+}
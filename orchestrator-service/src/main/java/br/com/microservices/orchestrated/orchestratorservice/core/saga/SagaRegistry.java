@@ -0,0 +1,432 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-flight saga table keyed by transactionId.
+ * <p>
+ * Entries live in preallocated primitive arrays split into lock-striped segments, so tracking a saga
+ * allocates nothing and millions of entries add no objects for the GC to trace. Keys are stored as a
+ * 128-bit hash of the transactionId. {@code saga.registry.max-sagas} is enforced by a count shared by all
+ * segments. Each segment holds its even share plus six standard deviations of the per-segment count under a
+ * uniform hash, rounded up to its power-of-two table, so a segment that drew more keys than average does not
+ * reject a saga while the table as a whole still has room.
+ * <p>
+ * The listener is notified under the segment lock, so the journal records each saga's transitions in the
+ * order they were applied, and waits for durability only after the lock is released.
+ */
+@Slf4j
+@Component
+public class SagaRegistry {
+
+    private static final int SEGMENT_COUNT = 64;
+    private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(SEGMENT_COUNT);
+    private static final double LOAD_FACTOR = 0.75;
+    private static final double SEGMENT_HEADROOM_SIGMAS = 6;
+    private static final int MIN_SEGMENT_HEADROOM = 8;
+    private static final byte NONE = -1;
+    private static final int BYTES_PER_SLOT = 4 * Long.BYTES + 3;
+    private static final int ADDED = 1;
+    private static final int PRESENT = 0;
+    private static final int FULL = -1;
+    private static final long NO_SEQUENCE = -1;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder registered = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private volatile SagaRegistryListener listener;
+
+    public SagaRegistry(@Value("${saga.registry.max-sagas}") int maxSagas) {
+        var evenShare = Math.max(1, (maxSagas + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        var perSegment = evenShare + Math.max(MIN_SEGMENT_HEADROOM,
+                (int) Math.ceil(SEGMENT_HEADROOM_SIGMAS * Math.sqrt(evenShare)));
+        this.capacity = Math.max(1, maxSagas);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(perSegment, size, capacity);
+        }
+        log.info("Saga registry allocated for {} sagas ({} bytes)", capacity, memoryBytes());
+    }
+
+    /**
+     * Starts tracking a saga. Returns false when the transaction is already tracked, so a redelivered start
+     * does not count twice, or when the table is full.
+     */
+    public boolean register(String transactionId, long now) {
+        var hi = SagaKey.hi(transactionId);
+        var lo = SagaKey.lo(transactionId);
+        var segment = segmentFor(hi);
+        int result;
+        var sequence = NO_SEQUENCE;
+        synchronized (segment) {
+            result = segment.register(hi, lo, now);
+            if (result == ADDED) {
+                sequence = notifyRegistered(hi, lo, now);
+            }
+        }
+        if (result == ADDED) {
+            registered.increment();
+            awaitDurable(sequence);
+            return true;
+        }
+        if (result == FULL) {
+            rejected.increment();
+            log.warn("Saga registry is full, transaction {} is not being tracked", transactionId);
+        }
+        return false;
+    }
+
+    public void update(String transactionId, EEventSource source, ESagaStatus status, ETopics currentStep, long now) {
+        var hi = SagaKey.hi(transactionId);
+        var lo = SagaKey.lo(transactionId);
+        var segment = segmentFor(hi);
+        var sequence = NO_SEQUENCE;
+        synchronized (segment) {
+            if (segment.update(hi, lo, ordinal(source), ordinal(status), ordinal(currentStep), now)) {
+                sequence = notifyUpdated(hi, lo, ordinal(source), ordinal(status), ordinal(currentStep), now);
+            }
+        }
+        awaitDurable(sequence);
+    }
+
+    public boolean complete(String transactionId) {
+        var hi = SagaKey.hi(transactionId);
+        var lo = SagaKey.lo(transactionId);
+        var removed = removeAndNotify(hi, lo);
+        if (removed) {
+            completed.increment();
+        }
+        return removed;
+    }
+
+    /**
+     * Stops tracking a saga that will never finish on its own, e.g. one whose compensation timed out,
+     * so it does not hold registry capacity forever.
+     */
+    public boolean expire(String transactionId) {
+        return expire(SagaKey.hi(transactionId), SagaKey.lo(transactionId));
+    }
+
+    /**
+     * Expires a saga known only by its key, as recovered from the journal.
+     */
+    public boolean expire(long hi, long lo) {
+        var removed = removeAndNotify(hi, lo);
+        if (removed) {
+            expired.increment();
+        }
+        return removed;
+    }
+
+    public Optional<SagaState> find(String transactionId) {
+        var hi = SagaKey.hi(transactionId);
+        var lo = SagaKey.lo(transactionId);
+        return Optional.ofNullable(segmentFor(hi).find(transactionId, hi, lo));
+    }
+
+    public ETopics currentStep(String transactionId) {
+        var hi = SagaKey.hi(transactionId);
+        var lo = SagaKey.lo(transactionId);
+        return segmentFor(hi).currentStep(hi, lo);
+    }
+
+    public boolean contains(String transactionId) {
+        var hi = SagaKey.hi(transactionId);
+        var lo = SagaKey.lo(transactionId);
+        return segmentFor(hi).indexOf(hi, lo) >= 0;
+    }
+
+    public void setListener(SagaRegistryListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Each segment is copied under its lock and visited after the lock is released, so a slow visitor, such
+     * as the journal writing a snapshot, does not hold up transitions of the sagas in that segment.
+     */
+    public void forEachEntry(SagaEntryVisitor visitor) {
+        var copy = new Segment(segments[0].maxSize, new AtomicInteger(), 0);
+        for (var segment : segments) {
+            var count = segment.copyTo(copy);
+            for (int i = 0; i < count; i++) {
+                visitor.visit(copy.keyHi[i], copy.keyLo[i], copy.source[i], copy.status[i], copy.step[i],
+                        copy.startedAt[i], copy.updatedAt[i]);
+            }
+        }
+    }
+
+    public static ETopics topicOf(byte step) {
+        return fromOrdinal(Segment.TOPICS, step);
+    }
+
+    public void restore(long hi, long lo, byte source, byte status, byte step, long startedAt, long updatedAt) {
+        segmentFor(hi).restore(hi, lo, source, status, step, startedAt, updatedAt);
+    }
+
+    public void restoreStep(long hi, long lo, byte source, byte status, byte step, long updatedAt) {
+        segmentFor(hi).update(hi, lo, source, status, step, updatedAt);
+    }
+
+    public void restoreCompletion(long hi, long lo) {
+        segmentFor(hi).remove(hi, lo);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public SagaRegistryStats stats() {
+        return new SagaRegistryStats(size(), capacity, registered.sum(), completed.sum(), expired.sum(),
+                rejected.sum(), memoryBytes());
+    }
+
+    private long memoryBytes() {
+        var bytes = 0L;
+        for (var segment : segments) {
+            bytes += (long) segment.keyHi.length * BYTES_PER_SLOT;
+        }
+        return bytes;
+    }
+
+    private boolean removeAndNotify(long hi, long lo) {
+        var segment = segmentFor(hi);
+        var sequence = NO_SEQUENCE;
+        boolean removed;
+        synchronized (segment) {
+            removed = segment.remove(hi, lo);
+            if (removed) {
+                sequence = notifyCompleted(hi, lo, System.currentTimeMillis());
+            }
+        }
+        awaitDurable(sequence);
+        return removed;
+    }
+
+    private long notifyRegistered(long hi, long lo, long now) {
+        var current = listener;
+        return current == null ? NO_SEQUENCE : current.onRegistered(hi, lo, now);
+    }
+
+    private long notifyUpdated(long hi, long lo, byte source, byte status, byte step, long now) {
+        var current = listener;
+        return current == null ? NO_SEQUENCE : current.onUpdated(hi, lo, source, status, step, now);
+    }
+
+    private long notifyCompleted(long hi, long lo, long now) {
+        var current = listener;
+        return current == null ? NO_SEQUENCE : current.onCompleted(hi, lo, now);
+    }
+
+    private void awaitDurable(long sequence) {
+        var current = listener;
+        if (sequence != NO_SEQUENCE && current != null) {
+            current.awaitDurable(sequence);
+        }
+    }
+
+    private Segment segmentFor(long hi) {
+        return segments[(int) (hi >>> SEGMENT_SHIFT)];
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? NONE : (byte) value.ordinal();
+    }
+
+    private static <E extends Enum<E>> E fromOrdinal(E[] values, byte ordinal) {
+        return ordinal == NONE ? null : values[ordinal];
+    }
+
+    private static final class Segment {
+
+        private static final EEventSource[] SOURCES = EEventSource.values();
+        private static final ESagaStatus[] STATUSES = ESagaStatus.values();
+        private static final ETopics[] TOPICS = ETopics.values();
+
+        private final long[] keyHi;
+        private final long[] keyLo;
+        private final long[] startedAt;
+        private final long[] updatedAt;
+        private final byte[] source;
+        private final byte[] status;
+        private final byte[] step;
+        private final int mask;
+        private final int maxSize;
+        private final AtomicInteger tableSize;
+        private final int tableCapacity;
+        private int size;
+
+        private Segment(int maxSize, AtomicInteger tableSize, int tableCapacity) {
+            var slots = Integer.highestOneBit((int) Math.ceil(maxSize / LOAD_FACTOR) - 1) << 1;
+            this.keyHi = new long[slots];
+            this.keyLo = new long[slots];
+            this.startedAt = new long[slots];
+            this.updatedAt = new long[slots];
+            this.source = new byte[slots];
+            this.status = new byte[slots];
+            this.step = new byte[slots];
+            this.mask = slots - 1;
+            this.maxSize = (int) (slots * LOAD_FACTOR);
+            this.tableSize = tableSize;
+            this.tableCapacity = tableCapacity;
+        }
+
+        private synchronized int register(long hi, long lo, long now) {
+            var slot = (int) lo & mask;
+            while (keyHi[slot] != 0) {
+                if (keyHi[slot] == hi && keyLo[slot] == lo) {
+                    return PRESENT;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size >= maxSize || !reserve()) {
+                return FULL;
+            }
+            keyHi[slot] = hi;
+            keyLo[slot] = lo;
+            startedAt[slot] = now;
+            updatedAt[slot] = now;
+            source[slot] = NONE;
+            status[slot] = NONE;
+            step[slot] = NONE;
+            size++;
+            return ADDED;
+        }
+
+        private synchronized boolean update(long hi, long lo, byte source, byte status, byte step, long now) {
+            var slot = indexOf(hi, lo);
+            if (slot < 0) {
+                return false;
+            }
+            this.source[slot] = source;
+            this.status[slot] = status;
+            this.step[slot] = step;
+            this.updatedAt[slot] = now;
+            return true;
+        }
+
+        private synchronized void restore(long hi, long lo, byte source, byte status, byte step,
+                                          long startedAt, long updatedAt) {
+            if (register(hi, lo, startedAt) == FULL) {
+                return;
+            }
+            var slot = indexOf(hi, lo);
+            this.source[slot] = source;
+            this.status[slot] = status;
+            this.step[slot] = step;
+            this.startedAt[slot] = startedAt;
+            this.updatedAt[slot] = updatedAt;
+        }
+
+        /**
+         * Packs the live entries into the first slots of {@code target}, which holds at least maxSize slots.
+         */
+        private synchronized int copyTo(Segment target) {
+            var count = 0;
+            for (int slot = 0; slot < keyHi.length; slot++) {
+                if (keyHi[slot] != 0) {
+                    target.keyHi[count] = keyHi[slot];
+                    target.keyLo[count] = keyLo[slot];
+                    target.source[count] = source[slot];
+                    target.status[count] = status[slot];
+                    target.step[count] = step[slot];
+                    target.startedAt[count] = startedAt[slot];
+                    target.updatedAt[count] = updatedAt[slot];
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private synchronized SagaState find(String transactionId, long hi, long lo) {
+            var slot = indexOf(hi, lo);
+            if (slot < 0) {
+                return null;
+            }
+            return new SagaState(transactionId,
+                    fromOrdinal(SOURCES, source[slot]),
+                    fromOrdinal(STATUSES, status[slot]),
+                    fromOrdinal(TOPICS, step[slot]),
+                    startedAt[slot],
+                    updatedAt[slot]);
+        }
+
+        private synchronized ETopics currentStep(long hi, long lo) {
+            var slot = indexOf(hi, lo);
+            return slot < 0 ? null : fromOrdinal(TOPICS, step[slot]);
+        }
+
+        private synchronized boolean remove(long hi, long lo) {
+            var slot = indexOf(hi, lo);
+            if (slot < 0) {
+                return false;
+            }
+            shiftBack(slot);
+            size--;
+            tableSize.decrementAndGet();
+            return true;
+        }
+
+        /**
+         * Takes one place in the table-wide count, which is what enforces max-sagas.
+         */
+        private boolean reserve() {
+            if (tableSize.incrementAndGet() > tableCapacity) {
+                tableSize.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        private synchronized int indexOf(long hi, long lo) {
+            var slot = (int) lo & mask;
+            while (keyHi[slot] != 0) {
+                if (keyHi[slot] == hi && keyLo[slot] == lo) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void shiftBack(int hole) {
+            var slot = hole;
+            while (true) {
+                slot = (slot + 1) & mask;
+                if (keyHi[slot] == 0) {
+                    break;
+                }
+                var home = (int) keyLo[slot] & mask;
+                var distanceToHole = (hole - home) & mask;
+                var distanceToSlot = (slot - home) & mask;
+                if (distanceToHole < distanceToSlot) {
+                    copy(slot, hole);
+                    hole = slot;
+                }
+            }
+            keyHi[hole] = 0;
+            keyLo[hole] = 0;
+        }
+
+        private void copy(int from, int to) {
+            keyHi[to] = keyHi[from];
+            keyLo[to] = keyLo[from];
+            startedAt[to] = startedAt[from];
+            updatedAt[to] = updatedAt[from];
+            source[to] = source[from];
+            status[to] = status[from];
+            step[to] = step[from];
+        }
+    }
+}
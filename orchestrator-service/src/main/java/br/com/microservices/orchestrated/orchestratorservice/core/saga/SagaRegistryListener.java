@@ -0,0 +1,17 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+/**
+ * Receives registry transitions under the lock of the segment holding the saga, so two transitions of one saga
+ * reach the listener in the order they were applied. The callbacks therefore must not block; each returns a
+ * sequence that the registry hands to {@link #awaitDurable(long)} once the segment lock is released.
+ */
+public interface SagaRegistryListener {
+
+    long onRegistered(long hi, long lo, long now);
+
+    long onUpdated(long hi, long lo, byte source, byte status, byte step, long now);
+
+    long onCompleted(long hi, long lo, long now);
+
+    void awaitDurable(long sequence);
+}
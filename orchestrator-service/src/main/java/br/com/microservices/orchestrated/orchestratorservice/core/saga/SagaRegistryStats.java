@@ -0,0 +1,10 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+public record SagaRegistryStats(int inFlight,
+                                int capacity,
+                                long registered,
+                                long completed,
+                                long expired,
+                                long rejected,
+                                long memoryBytes) {
+}
@@ -0,0 +1,13 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+
+public record SagaState(String transactionId,
+                        EEventSource source,
+                        ESagaStatus status,
+                        ETopics currentStep,
+                        long startedAt,
+                        long updatedAt) {
+}
@@ -0,0 +1,305 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.service;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.admission.SagaAdmissionController;
+import br.com.microservices.orchestrated.orchestratorservice.core.dedup.SagaDeduplicator;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.History;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.producer.SagaOrchestratorProducer;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaEventStore;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaExecutionController;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaJoin;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaJoinCoordinator;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaRegistry;
+import br.com.microservices.orchestrated.orchestratorservice.core.timeout.SagaTimeoutScheduler;
+import br.com.microservices.orchestrated.orchestratorservice.core.tracing.Tracer;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.ORCHESTRATOR;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.FAIL;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.ROLLBACK_PEDING;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.SUCCESS;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.FINISH_FAIL;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.NOTIFY_ENDINDG;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class OrchestratorService {
+
+    private final SagaOrchestratorProducer producer;
+    private final SagaExecutionController sagaExecutionController;
+    private final SagaRegistry sagaRegistry;
+    private final SagaTimeoutScheduler sagaTimeoutScheduler;
+    private final SagaJoinCoordinator sagaJoinCoordinator;
+    private final Tracer tracer;
+    private final SagaDeduplicator sagaDeduplicator;
+    private final SagaEventStore sagaEventStore;
+    private final SagaAdmissionController sagaAdmissionController;
+
+    public CompletableFuture<Void> startSaga(Event event) {
+        try (var span = tracer.startSpan("startSaga")) {
+            var key = sagaDeduplicator.keyOf(event);
+            if (sagaDeduplicator.isDuplicate(key)) {
+                log.warn("DISCARDING DUPLICATE START FOR SAGA {}", event.getTransactionId());
+                return CompletableFuture.completedFuture(null);
+            }
+            return routeStart(event).thenRun(() -> sagaDeduplicator.markProcessed(key));
+        }
+    }
+
+    public CompletableFuture<Void> finishSagaSuccess(Event event) {
+        try (var span = tracer.startSpan("finishSagaSuccess")) {
+            event.setSource(ORCHESTRATOR);
+            event.setStatus(SUCCESS);
+            log.info("SAGA FINISHED SUCCESSFULLY FOR EVENT {}!", event.getId());
+            addHistory(event, "Saga finished successfully!");
+            completeSaga(event);
+            return notifyFinishedSaga(event);
+        }
+    }
+
+    public CompletableFuture<Void> finishSagaFail(Event event) {
+        try (var span = tracer.startSpan("finishSagaFail")) {
+            event.setSource(ORCHESTRATOR);
+            event.setStatus(FAIL);
+            log.info("SAGA FINISHED WITH ERRORS FOR EVENT {}!", event.getId());
+            addHistory(event, "Saga finished with errors!");
+            completeSaga(event);
+            return notifyFinishedSaga(event);
+        }
+    }
+
+    public CompletableFuture<Void> continueSaga(Event event) {
+        try (var span = tracer.startSpan("continueSaga")) {
+            var key = sagaDeduplicator.keyOf(event);
+            if (sagaDeduplicator.isDuplicate(key)) {
+                log.warn("DISCARDING DUPLICATE {} {} FOR SAGA {}", event.getSource(), event.getStatus(), event.getTransactionId());
+                return CompletableFuture.completedFuture(null);
+            }
+            return routeReply(event).thenRun(() -> sagaDeduplicator.markProcessed(key));
+        }
+    }
+
+    private void handleStepTimeout(Event event, ETopics step) {
+        try (var span = tracer.startSpan("handleStepTimeout")) {
+            if (sagaExecutionController.isCompensationStep(step)) {
+                log.error("SAGA COMPENSATION {} TIMED OUT FOR EVENT {}, NO LONGER TRACKING SAGA {}",
+                        step, event.getId(), event.getTransactionId());
+                expireSaga(event.getTransactionId());
+                return;
+            }
+            var compensation = sagaExecutionController.getCompensationTopic(step);
+            var failure = timeoutFailureOf(event);
+            log.info("SAGA STEP {} TIMED OUT FOR EVENT {}, COMPENSATING ON {}", step, failure.getId(), compensation);
+            addHistory(failure, "Saga timed out waiting on ".concat(step.getTopics()));
+            trackSaga(failure, compensation);
+            sendToProducerWithTopic(failure, compensation)
+                    .whenComplete((result, error) -> logUnsentTimeout(failure, error));
+        }
+    }
+
+    /**
+     * Timeouts fire on the timeout firing executor while the listener thread that armed them may still be
+     * encoding the event, so the compensation request is built as a new event instead of mutating it.
+     */
+    private Event timeoutFailureOf(Event event) {
+        return Event.builder()
+                .id(event.getId())
+                .transactionId(event.getTransactionId())
+                .orderId(event.getOrderId())
+                .payload(event.getPayload())
+                .source(ORCHESTRATOR)
+                .status(ROLLBACK_PEDING)
+                .eventHistory(event.getEventHistory() == null
+                        ? new ArrayList<>(1)
+                        : new ArrayList<>(event.getEventHistory()))
+                .createdAt(event.getCreatedAt())
+                .claimCheck(event.getClaimCheck())
+                .build();
+    }
+
+    private CompletableFuture<Void> routeStart(Event event) {
+        event.setSource(ORCHESTRATOR);
+        event.setStatus(SUCCESS);
+        if (sagaJoinCoordinator.isEnabled()) {
+            log.info("SAGA STARTED IN PARALLEL MODE!");
+            addHistory(event, "Saga started!");
+            registerSaga(event);
+            return fanOut(event);
+        }
+        var topic = getTopic(event);
+        log.info("SAGA STARTED!");
+        addHistory(event, "Saga started!");
+        registerSaga(event);
+        trackSaga(event, topic);
+        return sendToProducerWithTopic(event, topic);
+    }
+
+    /**
+     * Only a saga the registry did not track yet counts towards admission, so a redelivered start that slipped
+     * past the deduplicator does not trigger an evaluation for a saga already in flight.
+     */
+    private void registerSaga(Event event) {
+        if (sagaRegistry.register(event.getTransactionId(), System.currentTimeMillis())) {
+            sagaAdmissionController.onSagaStarted();
+        }
+    }
+
+    private CompletableFuture<Void> routeReply(Event event) {
+        var join = sagaJoinCoordinator.find(event.getTransactionId());
+        if (join != null) {
+            return joinReply(join, event);
+        }
+        if (isLateReply(event)) {
+            log.warn("DISCARDING LATE REPLY FROM {} FOR TIMED OUT SAGA {}", event.getSource(), event.getTransactionId());
+            return CompletableFuture.completedFuture(null);
+        }
+        var topic = getTopic(event);
+        log.info("SAGA CONTINUING FOR EVENT {}", event.getId());
+        trackSaga(event, topic);
+        return sendToProducerWithTopic(event, topic);
+    }
+
+    private CompletableFuture<Void> fanOut(Event event) {
+        sagaJoinCoordinator.open(event);
+        var steps = sagaJoinCoordinator.getParallelSteps();
+        log.info("SAGA FANNING OUT TO {} FOR EVENT {}", steps, event.getId());
+        trackJoin(event, steps.get(0));
+        return sendToProducerWithTopics(event, steps);
+    }
+
+    private CompletableFuture<Void> joinReply(SagaJoin join, Event reply) {
+        synchronized (join) {
+            if (!join.accept(reply)) {
+                log.warn("DISCARDING REPLY FROM {} NOT AWAITED BY SAGA {}", reply.getSource(), reply.getTransactionId());
+                return CompletableFuture.completedFuture(null);
+            }
+            if (join.isComplete()) {
+                return resolveJoin(join);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void handleJoinTimeout(Event event, ETopics step) {
+        try (var span = tracer.startSpan("handleJoinTimeout")) {
+            var join = sagaJoinCoordinator.find(event.getTransactionId());
+            if (join == null) {
+                return;
+            }
+            synchronized (join) {
+                if (join.isComplete()) {
+                    return;
+                }
+                log.info("PARALLEL STAGE TIMED OUT FOR EVENT {}", event.getId());
+                join.expirePending();
+                resolveJoin(join).whenComplete((result, error) -> logUnsentTimeout(event, error));
+            }
+        }
+    }
+
+    private CompletableFuture<Void> resolveJoin(SagaJoin join) {
+        var event = join.getEvent();
+        event.setSource(ORCHESTRATOR);
+        if (join.isCompensating()) {
+            sagaJoinCoordinator.close(event.getTransactionId());
+            event.setStatus(FAIL);
+            addHistory(event, "Parallel steps compensated!");
+            trackSaga(event, FINISH_FAIL);
+            return sendToProducerWithTopic(event, FINISH_FAIL);
+        } else if (join.hasFailures()) {
+            event.setStatus(ROLLBACK_PEDING);
+            addHistory(event, "Parallel steps failed on ".concat(join.getFailed().toString()).concat(", compensating!"));
+            var compensations = join.startCompensation(sagaExecutionController);
+            log.info("SAGA COMPENSATING {} FOR EVENT {}", compensations, event.getId());
+            trackJoin(event, compensations.get(0));
+            return sendToProducerWithTopics(event, compensations);
+        } else {
+            sagaJoinCoordinator.close(event.getTransactionId());
+            event.setStatus(SUCCESS);
+            addHistory(event, "Parallel steps finished successfully!");
+            var next = sagaJoinCoordinator.getNextStep();
+            trackSaga(event, next);
+            return sendToProducerWithTopic(event, next);
+        }
+    }
+
+    private void trackJoin(Event event, ETopics step) {
+        sagaEventStore.put(event);
+        sagaRegistry.update(event.getTransactionId(), event.getSource(), event.getStatus(), step,
+                System.currentTimeMillis());
+        sagaTimeoutScheduler.schedule(event, sagaJoinCoordinator.getFirstStep(), this::handleJoinTimeout);
+    }
+
+    private boolean isLateReply(Event event) {
+        return event.getStatus() != FAIL
+                && sagaExecutionController.isCompensationStep(sagaRegistry.currentStep(event.getTransactionId()));
+    }
+
+    private ETopics getTopic(Event event) {
+        return sagaExecutionController.getNextTopic(event);
+    }
+
+    private void trackSaga(Event event, ETopics topic) {
+        sagaEventStore.put(event);
+        sagaRegistry.update(event.getTransactionId(), event.getSource(), event.getStatus(), topic,
+                System.currentTimeMillis());
+        sagaTimeoutScheduler.schedule(event, topic, this::handleStepTimeout);
+    }
+
+    private void completeSaga(Event event) {
+        sagaJoinCoordinator.close(event.getTransactionId());
+        sagaTimeoutScheduler.cancel(event.getTransactionId());
+        sagaRegistry.complete(event.getTransactionId());
+        sagaEventStore.remove(event.getTransactionId());
+    }
+
+    private void expireSaga(String transactionId) {
+        sagaJoinCoordinator.close(transactionId);
+        sagaRegistry.expire(transactionId);
+        sagaEventStore.remove(transactionId);
+    }
+
+    private void addHistory(Event event, String message) {
+        var history = History.builder()
+                .source(event.getSource())
+                .status(event.getStatus())
+                .message(message)
+                .createAt(LocalDateTime.now())
+                .build();
+
+        event.addHistory(history);
+    }
+
+    /**
+     * Sends issued from a timeout have no record to retry, so a failed one is only logged; the saga
+     * stays tracked and the timeout armed for the step it moved to still fires.
+     */
+    private void logUnsentTimeout(Event event, Throwable error) {
+        if (error != null) {
+            log.error("COULD NOT SEND TIMEOUT HANDLING FOR SAGA {}", event.getTransactionId(), error);
+        }
+    }
+
+    private CompletableFuture<Void> notifyFinishedSaga(Event event) {
+        return sendToProducerWithTopic(event, NOTIFY_ENDINDG);
+    }
+
+    private CompletableFuture<Void> sendToProducerWithTopic(Event event, ETopics topic) {
+        return producer.sendEvent(event, topic.getTopics(), event.getOrderId(),
+                sagaEventStore.contains(event.getTransactionId()));
+    }
+
+    private CompletableFuture<Void> sendToProducerWithTopics(Event event, List<ETopics> topics) {
+        return producer.sendEvent(event, topics.stream().map(ETopics::getTopics).toList(), event.getOrderId(),
+                sagaEventStore.contains(event.getTransactionId()));
+    }
+}
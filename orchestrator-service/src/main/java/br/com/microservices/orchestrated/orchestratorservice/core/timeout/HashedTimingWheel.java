@@ -0,0 +1,276 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timeout;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hashed timing wheel: a ring of buckets advanced by a single worker thread every tick.
+ * <p>
+ * Scheduling and cancelling are O(1) and lock-free for callers: new timeouts and cancellations are queued
+ * and applied by the worker, which links/unlinks them in the doubly-linked bucket lists. Delays longer than
+ * one revolution are handled with a remaining-rounds counter per timeout. The worker only collects expired
+ * timeouts and hands their tasks to the firing executor, so a task that blocks never delays the next tick.
+ */
+@Slf4j
+public class HashedTimingWheel {
+
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long tickNanos;
+    private final Executor firingExecutor;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final Thread worker;
+    private volatile boolean running;
+    private volatile double expiredPerSecond;
+    private long startNanos;
+    private long tick;
+    private long rateWindowStart;
+    private long rateWindowExpired;
+
+    public HashedTimingWheel(String name, long tickDuration, TimeUnit unit, int wheelSize, Executor firingExecutor) {
+        var size = Integer.highestOneBit(Math.max(2, wheelSize) - 1) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.firingExecutor = firingExecutor;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+        running = true;
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        var deadline = System.nanoTime() - startNanos + unit.toNanos(delay);
+        var timeout = new Timeout(this, task, deadline);
+        pending.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    public long pending() {
+        return pending.get();
+    }
+
+    public long expired() {
+        return expired.sum();
+    }
+
+    public long cancelled() {
+        return cancelled.sum();
+    }
+
+    public double expiredPerSecond() {
+        return expiredPerSecond;
+    }
+
+    private void run() {
+        while (running) {
+            var deadline = waitForNextTick();
+            if (deadline < 0) {
+                continue;
+            }
+            removeCancelled();
+            transferPending();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+            updateRate(deadline);
+        }
+    }
+
+    private void updateRate(long now) {
+        var elapsed = now - rateWindowStart;
+        if (elapsed < TimeUnit.SECONDS.toNanos(1)) {
+            return;
+        }
+        var total = expired.sum();
+        expiredPerSecond = (total - rateWindowExpired) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        rateWindowStart = now;
+        rateWindowExpired = total;
+    }
+
+    private long waitForNextTick() {
+        var deadline = tickNanos * (tick + 1);
+        while (true) {
+            var current = System.nanoTime() - startNanos;
+            var sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - current + 999_999);
+            if (sleepMillis <= 0) {
+                return current;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state != Timeout.INIT) {
+                continue;
+            }
+            var calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            var ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        pending.decrementAndGet();
+        expired.increment();
+        try {
+            firingExecutor.execute(() -> runTask(timeout.task));
+        } catch (RejectedExecutionException e) {
+            log.error("Timeout task rejected by the firing executor", e);
+        }
+    }
+
+    private static void runTask(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            log.error("Error running timeout task", e);
+        }
+    }
+
+    public static final class Timeout {
+
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedTimingWheel timer;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = INIT;
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(HashedTimingWheel timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, INIT, CANCELLED)) {
+                return false;
+            }
+            timer.pending.decrementAndGet();
+            timer.cancelled.increment();
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        private boolean expire() {
+            return STATE.compareAndSet(this, INIT, EXPIRED);
+        }
+    }
+
+    private final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire(long deadline) {
+            var timeout = head;
+            while (timeout != null) {
+                var next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    if (timeout.expire()) {
+                        fire(timeout);
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            var next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timeout;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+
+@FunctionalInterface
+public interface SagaTimeoutHandler {
+
+    void onTimeout(Event event, ETopics step);
+}
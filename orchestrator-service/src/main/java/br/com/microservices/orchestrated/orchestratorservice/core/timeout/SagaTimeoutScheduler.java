@@ -0,0 +1,181 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timeout;
+
+import br.com.microservices.orchestrated.orchestratorservice.config.thread.VirtualThreads;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaHandler.SAGA_COMPENSATION;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SagaTimeoutScheduler {
+
+    private static final String STEP_TIMEOUT_PROPERTY_PREFIX = "saga.timeout.steps.";
+    private static final String FIRING_THREAD_PREFIX = "saga-timeout-";
+
+    @Value("${saga.timeout.step-timeout-ms}")
+    private long defaultStepTimeoutMs;
+
+    @Value("${saga.timeout.tick-ms}")
+    private long tickMs;
+
+    @Value("${saga.timeout.wheel-size}")
+    private int wheelSize;
+
+    @Value("${saga.timeout.firing-threads}")
+    private int firingThreads;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreadsEnabled;
+
+    private final Environment environment;
+
+    private final Map<String, HashedTimingWheel.Timeout> deadlines = new ConcurrentHashMap<>();
+    private final Map<SagaKeyPair, HashedTimingWheel.Timeout> recoveredDeadlines = new ConcurrentHashMap<>();
+    private final Map<ETopics, Long> stepTimeouts = new EnumMap<>(ETopics.class);
+    private ExecutorService firingExecutor;
+    private HashedTimingWheel wheel;
+
+    @PostConstruct
+    public void start() {
+        for (var row : SAGA_COMPENSATION) {
+            for (var step : row) {
+                stepTimeouts.put(step, environment.getProperty(STEP_TIMEOUT_PROPERTY_PREFIX + step.getTopics(),
+                        Long.class, defaultStepTimeoutMs));
+            }
+        }
+        firingExecutor = virtualThreadsEnabled
+                ? VirtualThreads.newExecutor(FIRING_THREAD_PREFIX)
+                : new ThreadPoolExecutor(firingThreads, firingThreads, 0, TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(), new CustomizableThreadFactory(FIRING_THREAD_PREFIX));
+        wheel = new HashedTimingWheel("saga-timeout-wheel", tickMs, TimeUnit.MILLISECONDS, wheelSize, firingExecutor);
+        wheel.start();
+        log.info("Saga timeouts armed for steps {}", stepTimeouts);
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.stop();
+        firingExecutor.shutdown();
+    }
+
+    public void schedule(Event event, ETopics step, SagaTimeoutHandler handler) {
+        cancelRecovered(event.getTransactionId());
+        var timeoutMs = stepTimeouts.get(step);
+        if (timeoutMs == null) {
+            cancel(event.getTransactionId());
+            return;
+        }
+        var deadline = new StepDeadline(event, step, handler);
+        deadline.timeout = wheel.schedule(deadline, timeoutMs, TimeUnit.MILLISECONDS);
+        var previous = deadlines.put(event.getTransactionId(), deadline.timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public void cancel(String transactionId) {
+        cancelRecovered(transactionId);
+        var timeout = deadlines.remove(transactionId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Re-arms the deadline of a saga recovered from the journal, which only knows its key, for what is left
+     * of the step timeout since the saga last moved; one recovered before its first step gets the default
+     * timeout. The deadline is replaced as soon as the saga's next event arrives and arms a regular one.
+     */
+    public void scheduleRecovered(long hi, long lo, ETopics step, long updatedAt, Runnable task) {
+        var timeoutMs = step == null ? Long.valueOf(defaultStepTimeoutMs) : stepTimeouts.get(step);
+        if (timeoutMs == null) {
+            return;
+        }
+        var key = new SagaKeyPair(hi, lo);
+        var remainingMs = Math.max(0, updatedAt + timeoutMs - System.currentTimeMillis());
+        var deadline = new RecoveredDeadline(key, task);
+        deadline.timeout = wheel.schedule(deadline, remainingMs, TimeUnit.MILLISECONDS);
+        var previous = recoveredDeadlines.put(key, deadline.timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void cancelRecovered(String transactionId) {
+        if (recoveredDeadlines.isEmpty()) {
+            return;
+        }
+        var timeout = recoveredDeadlines.remove(new SagaKeyPair(SagaKey.hi(transactionId), SagaKey.lo(transactionId)));
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    public SagaTimeoutStats stats() {
+        return new SagaTimeoutStats(wheel.pending(), wheel.expired(), wheel.cancelled(), wheel.expiredPerSecond());
+    }
+
+    private record SagaKeyPair(long hi, long lo) {
+    }
+
+    private final class RecoveredDeadline implements Runnable {
+
+        private final SagaKeyPair key;
+        private final Runnable task;
+        private HashedTimingWheel.Timeout timeout;
+
+        private RecoveredDeadline(SagaKeyPair key, Runnable task) {
+            this.key = key;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (recoveredDeadlines.remove(key, timeout)) {
+                task.run();
+            }
+        }
+    }
+
+    private final class StepDeadline implements Runnable {
+
+        private final Event event;
+        private final ETopics step;
+        private final SagaTimeoutHandler handler;
+        private HashedTimingWheel.Timeout timeout;
+
+        private StepDeadline(Event event, ETopics step, SagaTimeoutHandler handler) {
+            this.event = event;
+            this.step = step;
+            this.handler = handler;
+        }
+
+        @Override
+        public void run() {
+            if (!deadlines.remove(event.getTransactionId(), timeout)) {
+                return;
+            }
+            log.warn("Saga {} timed out waiting on topic {}", event.getTransactionId(), step.getTopics());
+            handler.onTimeout(event, step);
+        }
+    }
+}
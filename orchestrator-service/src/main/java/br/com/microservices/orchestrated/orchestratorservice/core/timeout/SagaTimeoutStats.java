@@ -0,0 +1,7 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timeout;
+
+public record SagaTimeoutStats(long pending,
+                               long expired,
+                               long cancelled,
+                               double expiredPerSecond) {
+}
@@ -0,0 +1,34 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int capacity;
+    private final ArrayDeque<SpanData> spans;
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public synchronized void export(SpanData span) {
+        if (spans.size() == capacity) {
+            spans.pollFirst();
+        }
+        spans.addLast(span);
+    }
+
+    @Override
+    public synchronized List<SpanData> recent(int limit) {
+        var result = new ArrayList<SpanData>(Math.min(limit, spans.size()));
+        var iterator = spans.descendingIterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.microservices.orchestrated.orderservice.core.buffer;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.OrderProducts;
+import br.com.microservices.orchestrated.orderservice.core.document.Product;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution, p99 included, of what the outbox relay waits for before it publishes a batch: handing
+ * the events to {@link EventWriteBuffer} against inserting them itself. Runs against the in-memory
+ * mongo-java-server; the buffer's flush thread shares the CPU with the caller as it does in the service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventWriteBufferBenchmark {
+
+    private static final int RELAY_BATCH = 100;
+    private static final int PRODUCTS = 5;
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private EventWriteBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void start() {
+        server = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(server.bindAndGetConnectionString());
+        mongoTemplate = new MongoTemplate(client, "benchmark");
+        buffer = new EventWriteBuffer(mongoTemplate);
+        var fields = new DirectFieldAccessor(buffer);
+        fields.setPropertyValue("capacity", 65536);
+        fields.setPropertyValue("flushRecords", 1000);
+        fields.setPropertyValue("flushIntervalMs", 50L);
+        fields.setPropertyValue("offerTimeoutMs", 100L);
+        fields.setPropertyValue("maxAttempts", 5);
+        fields.setPropertyValue("retryBackoffMs", 100L);
+        buffer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws InterruptedException {
+        buffer.stop();
+        client.close();
+        server.shutdownNow();
+    }
+
+    @TearDown(Level.Iteration)
+    public void dropEvents() {
+        mongoTemplate.dropCollection(Event.class);
+    }
+
+    @Benchmark
+    public void buffered() {
+        buffer.addAll(relayBatch());
+    }
+
+    @Benchmark
+    public void direct() {
+        mongoTemplate.insertAll(relayBatch());
+    }
+
+    private static List<Event> relayBatch() {
+        var events = new ArrayList<Event>(RELAY_BATCH);
+        for (int i = 0; i < RELAY_BATCH; i++) {
+            var products = new ArrayList<OrderProducts>(PRODUCTS);
+            for (int p = 0; p < PRODUCTS; p++) {
+                products.add(new OrderProducts(new Product("PRODUCT-" + p, "10.5"), p + 1));
+            }
+            var id = UUID.randomUUID().toString();
+            var now = LocalDateTime.now();
+            events.add(Event.builder()
+                    .id(id)
+                    .transactionId("transaction-" + id)
+                    .orderId("order-" + id)
+                    .payload(Order.builder().id("order-" + id).orderProducts(products).createdAt(now)
+                            .transactionId("transaction-" + id).totalAmount(157.5).totalItens(15).build())
+                    .source("ORDER_SERVICE")
+                    .createdAt(now)
+                    .build());
+        }
+        return events;
+    }
+}
@@ -0,0 +1,241 @@
+package br.com.microservices.orchestrated.orderservice.core.controller;
+
+import br.com.microservices.orchestrated.orderservice.config.exception.handler.ExceptionGlobalHandler;
+import br.com.microservices.orchestrated.orderservice.config.reactive.ReactiveIntakeServer;
+import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.metrics.Histogram;
+import br.com.microservices.orchestrated.orderservice.core.outbox.OutboxRelay;
+import br.com.microservices.orchestrated.orderservice.core.repository.OrderRepository;
+import br.com.microservices.orchestrated.orderservice.core.service.OrderService;
+import br.com.microservices.orchestrated.orderservice.core.tracing.Tracer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.apache.coyote.AbstractProtocol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order intake under a burst of concurrent connections: the blocking {@code POST /api/order} on Tomcat
+ * against the WebFlux {@code POST /api/order/async} on the reactive intake server. Each operation opens
+ * {@code connections} connections at once and posts one order on each, and every response must be 2xx.
+ * Per-request latency of the measured bursts and the server threads involved are printed once per trial.
+ * Tomcat keeps Spring Boot's default of 200 request threads; the reactive server uses the configured 4 event
+ * loop threads. Orders go to the in-memory
+ * mongo-java-server, and the load client shares the CPU with the servers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OrderIntakeLoadBenchmark {
+
+    private static final String ORDER = """
+            {"orderProducts":[{"product":{"code":"COMIC_BOOKS","unitValue":15.5},"quantity":3},\
+            {"product":{"code":"BOOKS","unitValue":9.9},"quantity":2}]}""";
+    private static final String[] SERVER_THREAD_PREFIXES = {"http-nio", "order-intake-reactive"};
+
+    @Param({"mvc", "webflux"})
+    private String endpoint;
+
+    @Param({"1000", "5000"})
+    private int connections;
+
+    private MongoServer mongoServer;
+    private MongoClient mongoClient;
+    private com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient;
+    private MongoTemplate mongoTemplate;
+    private OrderService orderService;
+    private WebServer tomcat;
+    private ReactiveIntakeServer reactiveServer;
+    private LoopResources clientLoops;
+    private ConnectionProvider connectionProvider;
+    private HttpClient client;
+    private final Histogram latencyMicros = new Histogram();
+    private volatile boolean recording;
+
+    @Setup(Level.Trial)
+    public void start() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        var connectionString = mongoServer.bindAndGetConnectionString();
+        mongoClient = MongoClients.create(connectionString);
+        reactiveMongoClient = com.mongodb.reactivestreams.client.MongoClients.create(connectionString);
+        mongoTemplate = new MongoTemplate(mongoClient, "benchmark");
+        var reactiveMongoTemplate = new ReactiveMongoTemplate(reactiveMongoClient, "benchmark");
+        var tracer = new Tracer(span -> { });
+        new DirectFieldAccessor(tracer).setPropertyValue("serviceName", "order-service");
+        var outboxRelay = new OutboxRelay(mongoTemplate, null, null, null, tracer);
+        orderService = new OrderService(new MongoRepositoryFactory(mongoTemplate).getRepository(OrderRepository.class),
+                mongoTemplate, reactiveMongoTemplate, WriteConcern.ACKNOWLEDGED, tracer, outboxRelay, null, 10_000);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        String baseUrl;
+        if ("webflux".equals(endpoint)) {
+            reactiveServer = new ReactiveIntakeServer(new ReactiveOrderHandler(orderService), objectMapper);
+            var fields = new DirectFieldAccessor(reactiveServer);
+            fields.setPropertyValue("port", 0);
+            fields.setPropertyValue("eventLoopThreads", 4);
+            reactiveServer.start();
+            baseUrl = "http://127.0.0.1:" + reactiveServer.getPort();
+        } else {
+            tomcat = tomcat(objectMapper);
+            tomcat.start();
+            baseUrl = "http://127.0.0.1:" + tomcat.getPort();
+        }
+        clientLoops = LoopResources.create("load-client", 1, true);
+        connectionProvider = ConnectionProvider.builder("load-client")
+                .maxConnections(connections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        client = HttpClient.create(connectionProvider)
+                .runOn(clientLoops)
+                .baseUrl(baseUrl)
+                .headers(headers -> headers.add("Content-Type", "application/json"))
+                .responseTimeout(Duration.ofSeconds(60));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        var latency = latencyMicros.snapshot();
+        System.out.printf("%n%s, %d connections: request latency p50=%.1f ms p99=%.1f ms max=%.1f ms, "
+                        + "server threads %s%n", endpoint, connections, latency.p50() / 1000.0,
+                latency.p99() / 1000.0, latency.max() / 1000.0, serverThreads());
+        connectionProvider.disposeLater().block();
+        clientLoops.disposeLater().block();
+        if (reactiveServer != null) {
+            reactiveServer.stop();
+        }
+        if (tomcat != null) {
+            tomcat.stop();
+        }
+        reactiveMongoClient.close();
+        mongoClient.close();
+        mongoServer.shutdownNow();
+    }
+
+    @Setup(Level.Iteration)
+    public void prepare(IterationParams iteration) {
+        recording = iteration.getType() == IterationType.MEASUREMENT;
+        mongoTemplate.dropCollection(Order.class);
+    }
+
+    @Benchmark
+    public long burst() {
+        var path = "mvc".equals(endpoint) ? "/api/order" : "/api/order/async";
+        var accepted = Flux.range(0, connections)
+                .flatMap(i -> {
+                    var start = System.nanoTime();
+                    return client.post()
+                            .uri(path)
+                            .send(ByteBufFlux.fromString(Mono.just(ORDER)))
+                            .responseSingle((response, body) -> body.asString().defaultIfEmpty("")
+                                    .map(ignored -> response.status().code()))
+                            .doOnNext(status -> record(start));
+                }, connections)
+                .filter(status -> status / 100 == 2)
+                .count()
+                .block();
+        if (accepted == null || accepted != connections) {
+            throw new IllegalStateException(accepted + " of " + connections + " orders were accepted");
+        }
+        return accepted;
+    }
+
+    private void record(long start) {
+        if (recording) {
+            latencyMicros.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+    }
+
+    private WebServer tomcat(ObjectMapper objectMapper) {
+        var context = new AnnotationConfigWebApplicationContext();
+        context.register(MvcConfig.class, OrderController.class, ExceptionGlobalHandler.class);
+        context.addBeanFactoryPostProcessor(beanFactory -> {
+            beanFactory.registerSingleton("objectMapper", objectMapper);
+            beanFactory.registerSingleton("orderService", orderService);
+        });
+        var factory = new TomcatServletWebServerFactory(0);
+        factory.addConnectorCustomizers(connector ->
+                ((AbstractProtocol<?>) connector.getProtocolHandler()).setMaxConnections(60_000));
+        return factory.getWebServer(servletContext -> {
+            context.setServletContext(servletContext);
+            var dispatcher = servletContext.addServlet("dispatcher", new DispatcherServlet(context));
+            dispatcher.setLoadOnStartup(1);
+            dispatcher.setAsyncSupported(true);
+            dispatcher.addMapping("/");
+        });
+    }
+
+    private static String serverThreads() {
+        var threads = Thread.getAllStackTraces().keySet();
+        var counts = new TreeMap<String, Integer>();
+        for (var thread : threads) {
+            for (var prefix : SERVER_THREAD_PREFIXES) {
+                if (thread.getName().startsWith(prefix)) {
+                    counts.merge(prefix, 1, Integer::sum);
+                    break;
+                }
+            }
+        }
+        return counts + " of " + threads.size() + " live";
+    }
+
+    @Configuration
+    @EnableWebMvc
+    static class MvcConfig implements WebMvcConfigurer {
+
+        private final ObjectMapper objectMapper;
+
+        MvcConfig(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
+            converters.add(new MappingJackson2HttpMessageConverter(objectMapper));
+        }
+    }
+}
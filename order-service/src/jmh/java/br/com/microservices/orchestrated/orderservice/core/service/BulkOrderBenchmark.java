@@ -0,0 +1,177 @@
+package br.com.microservices.orchestrated.orderservice.core.service;
+
+import br.com.microservices.orchestrated.orderservice.config.kafka.ProducerProfile;
+import br.com.microservices.orchestrated.orderservice.core.buffer.EventWriteBuffer;
+import br.com.microservices.orchestrated.orderservice.core.codec.EventCodec;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.OrderProducts;
+import br.com.microservices.orchestrated.orderservice.core.document.Product;
+import br.com.microservices.orchestrated.orderservice.core.dto.OrderRequestDTO;
+import br.com.microservices.orchestrated.orderservice.core.outbox.OutboxRelay;
+import br.com.microservices.orchestrated.orderservice.core.producer.ProducerPipeline;
+import br.com.microservices.orchestrated.orderservice.core.producer.SagaProducer;
+import br.com.microservices.orchestrated.orderservice.core.repository.OrderRepository;
+import br.com.microservices.orchestrated.orderservice.core.tracing.Tracer;
+import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Time to take in a burst of 10k orders: one {@link OrderService#createOrders} call against 10k
+ * {@link OrderService#createOrder} calls, the per-order POST the bulk endpoint replaces. With relay=true an
+ * operation lasts until the outbox relay has published every start-saga message through the producer
+ * pipeline and marked its order sent; the events go to the write buffer on the way. The broker is an
+ * auto-completing MockProducer and Mongo is the in-memory mongo-java-server, so this weighs round trips and
+ * batching rather than real disk or network cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BulkOrderBenchmark {
+
+    private static final int ORDERS = 10_000;
+    private static final int PRODUCTS = 3;
+
+    @Param({"false", "true"})
+    private boolean relay;
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private EventWriteBuffer eventWriteBuffer;
+    private OutboxRelay outboxRelay;
+    private OrderService orderService;
+    private List<OrderRequestDTO> requests;
+
+    @Setup(Level.Trial)
+    public void start() {
+        server = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(server.bindAndGetConnectionString());
+        mongoTemplate = new MongoTemplate(client, "benchmark");
+        var tracer = new Tracer(span -> { });
+        new DirectFieldAccessor(tracer).setPropertyValue("serviceName", "order-service");
+
+        eventWriteBuffer = new EventWriteBuffer(mongoTemplate);
+        var bufferFields = new DirectFieldAccessor(eventWriteBuffer);
+        bufferFields.setPropertyValue("capacity", 65536);
+        bufferFields.setPropertyValue("flushRecords", 1000);
+        bufferFields.setPropertyValue("flushIntervalMs", 50L);
+        bufferFields.setPropertyValue("offerTimeoutMs", 100L);
+        bufferFields.setPropertyValue("maxAttempts", 5);
+        bufferFields.setPropertyValue("retryBackoffMs", 100L);
+        eventWriteBuffer.start();
+
+        var objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        var producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer()) {
+            @Override
+            public void close(Duration timeout) {
+            }
+        };
+        var pipeline = new ProducerPipeline(topic -> new ProducerProfile(5, 65536, "none", true),
+                profile -> () -> producer, 10_000, 32 * 1024 * 1024, 30_000, new SimpleMeterRegistry());
+        var sagaProducer = new SagaProducer(pipeline, tracer, new EventCodec(new JsonUtil(objectMapper), Set.of()));
+        new DirectFieldAccessor(sagaProducer).setPropertyValue("startSagaTopic", "start-saga");
+        var claimCheckService = new ClaimCheckService(null, objectMapper, false, 65536);
+
+        outboxRelay = new OutboxRelay(mongoTemplate, eventWriteBuffer, claimCheckService, sagaProducer, tracer);
+        var relayFields = new DirectFieldAccessor(outboxRelay);
+        relayFields.setPropertyValue("batchSize", 500);
+        relayFields.setPropertyValue("pollIntervalMs", 100L);
+        relayFields.setPropertyValue("sendTimeoutMs", 30_000L);
+        relayFields.setPropertyValue("leaseMs", 60_000L);
+        relayFields.setPropertyValue("instanceId", "benchmark");
+        if (relay) {
+            outboxRelay.start();
+        }
+        orderService = new OrderService(new MongoRepositoryFactory(mongoTemplate).getRepository(OrderRepository.class),
+                mongoTemplate, null, WriteConcern.ACKNOWLEDGED, tracer, outboxRelay, null, ORDERS);
+
+        requests = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            var products = new ArrayList<OrderProducts>(PRODUCTS);
+            for (int p = 0; p < PRODUCTS; p++) {
+                products.add(new OrderProducts(new Product("PRODUCT-" + p, "10.5"), p + 1));
+            }
+            requests.add(new OrderRequestDTO(products));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws InterruptedException {
+        if (relay) {
+            outboxRelay.stop();
+        }
+        eventWriteBuffer.stop();
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Setup(Level.Iteration)
+    public void dropOrders() {
+        mongoTemplate.remove(new Query(), Order.class);
+        mongoTemplate.remove(new Query(), Event.class);
+    }
+
+    @Benchmark
+    public long bulk() {
+        var relayed = outboxRelay.stats().relayed();
+        var response = orderService.createOrders(requests);
+        return awaitRelay(relayed) + response.accepted();
+    }
+
+    @Benchmark
+    public long perOrder() {
+        var relayed = outboxRelay.stats().relayed();
+        for (var request : requests) {
+            orderService.createOrder(request);
+        }
+        return awaitRelay(relayed);
+    }
+
+    private long awaitRelay(long relayedBefore) {
+        if (!relay) {
+            return 0;
+        }
+        long relayed;
+        while ((relayed = outboxRelay.stats().relayed()) < relayedBefore + ORDERS) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return relayed;
+    }
+}
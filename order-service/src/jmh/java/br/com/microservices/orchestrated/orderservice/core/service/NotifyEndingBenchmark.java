@@ -0,0 +1,125 @@
+package br.com.microservices.orchestrated.orderservice.core.service;
+
+import br.com.microservices.orchestrated.orderservice.core.cache.SagaStatusCache;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.document.History;
+import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.OrderProducts;
+import br.com.microservices.orchestrated.orderservice.core.document.Product;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to persist one saga ending: {@link EventService#notifyEnding} against the per-event full document save
+ * it replaced. Each iteration ends one batch of freshly stored running sagas. Runs against the in-memory
+ * mongo-java-server, so it compares round trips and document sizes rather than a real server's disk cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+@Fork(1)
+@OperationsPerInvocation(NotifyEndingBenchmark.BATCH_SIZE)
+public class NotifyEndingBenchmark {
+
+    static final int BATCH_SIZE = 500;
+    private static final int PRODUCTS = 5;
+    private static final String[] STEPS = {"ORCHESTRATOR", "PRODUCT_VALIDATION_SERVICE", "PAYMENT_SERVICE",
+            "INVENTORY_SERVICE", "ORCHESTRATOR"};
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private EventService eventService;
+    private List<Event> endings;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        server = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(server.bindAndGetConnectionString());
+        mongoTemplate = new MongoTemplate(client, "benchmark");
+        eventService = new EventService(null, mongoTemplate, new SagaStatusCache(100_000, 1_000));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Setup(Level.Iteration)
+    public void storeRunningSagas() {
+        mongoTemplate.dropCollection(Event.class);
+        var running = new ArrayList<Event>(BATCH_SIZE);
+        endings = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            var event = event();
+            running.add(event);
+            var history = new ArrayList<History>(STEPS.length);
+            for (int step = 0; step < STEPS.length; step++) {
+                history.add(history(STEPS[step], step));
+            }
+            endings.add(new Event(event.getId(), event.getTransactionId(), event.getOrderId(), event.getPayload(),
+                    "ORCHESTRATOR", "SUCCESS", history, event.getCreatedAt(), null));
+        }
+        mongoTemplate.insertAll(running);
+    }
+
+    @Benchmark
+    public void bulkUpdate() {
+        eventService.notifyEnding(endings);
+    }
+
+    @Benchmark
+    public void fullSavePerEvent() {
+        for (var ending : endings) {
+            mongoTemplate.save(ending);
+        }
+    }
+
+    private static Event event() {
+        var products = new ArrayList<OrderProducts>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new OrderProducts(new Product("PRODUCT-" + i, "10.5"), i + 1));
+        }
+        var id = UUID.randomUUID().toString();
+        var now = LocalDateTime.now();
+        return Event.builder()
+                .id(id)
+                .transactionId("transaction-" + id)
+                .orderId("order-" + id)
+                .payload(Order.builder().id("order-" + id).orderProducts(products).createdAt(now)
+                        .transactionId("transaction-" + id).totalAmount(157.5).totalItens(15).build())
+                .source("ORCHESTRATOR")
+                .status("RUNNING")
+                .createdAt(now)
+                .build();
+    }
+
+    private static History history(String source, int step) {
+        return new History(source, "SUCCESS", "Step " + step + " finished", LocalDateTime.now());
+    }
+}
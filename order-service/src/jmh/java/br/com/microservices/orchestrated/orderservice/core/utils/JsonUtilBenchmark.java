@@ -0,0 +1,88 @@
+package br.com.microservices.orchestrated.orderservice.core.utils;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One consumed and re-produced saga message through {@link JsonUtil}'s byte[] path against the String path it
+ * replaced, with and without Blackbird. Run with -prof gc for bytes allocated per message (gc.alloc.rate.norm).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilBenchmark {
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    @Param({"5", "50"})
+    private int products;
+
+    private ObjectMapper objectMapper;
+    private JsonUtil jsonUtil;
+    private byte[] message;
+
+    @Setup
+    public void setUp() {
+        var builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        jsonUtil = new JsonUtil(objectMapper);
+        message = jsonUtil.toJson(jsonUtil.toEvent(message(products)));
+    }
+
+    @Benchmark
+    public byte[] bytes() {
+        return jsonUtil.toJson(jsonUtil.toEvent(message));
+    }
+
+    @Benchmark
+    public byte[] string() throws Exception {
+        var event = objectMapper.readValue(new String(message, StandardCharsets.UTF_8), Event.class);
+        return objectMapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] message(int products) {
+        var json = new StringBuilder("{\"id\":\"64f1c2a7e4b0a1b2c3d4e5f6\",")
+                .append("\"transactionId\":\"1697616181000_0f8b3c2e-6d1a-4c55-9b7e-2f4a6c8d0e13\",")
+                .append("\"orderId\":\"64f1c2a7e4b0a1b2c3d4e5f7\",\"payload\":{\"id\":\"64f1c2a7e4b0a1b2c3d4e5f7\",")
+                .append("\"orderProducts\":[");
+        for (int i = 0; i < products; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"product\":{\"code\":\"PRODUCT-").append(i)
+                    .append("\",\"unitValue\":\"10.5\"},\"quantity\":").append(i + 1).append('}');
+        }
+        json.append("],\"createdAt\":\"2023-10-18T08:43:01.123456\",")
+                .append("\"transactionId\":\"1697616181000_0f8b3c2e-6d1a-4c55-9b7e-2f4a6c8d0e13\",")
+                .append("\"totalAmount\":").append(products * 10.5).append(",\"totalItens\":").append(products)
+                .append("},\"source\":\"PAYMENT_SERVICE\",\"status\":\"SUCCESS\",\"eventHistory\":[");
+        var sources = new String[]{"ORCHESTRATOR", "PRODUCT_VALIDATION_SERVICE", "PAYMENT_SERVICE"};
+        for (int i = 0; i < sources.length; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"source\":\"").append(sources[i])
+                    .append("\",\"status\":\"SUCCESS\",\"message\":\"Step finished successfully!\",")
+                    .append("\"createAt\":\"2023-10-18T08:43:01.123456\"}");
+        }
+        json.append("],\"createdAt\":\"2023-10-18T08:43:01.123456\"}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.microservices.orchestrated.orderservice.config.claimcheck;
+
+import br.com.microservices.orchestrated.orderservice.core.claimcheck.ClaimCheckStore;
+import br.com.microservices.orchestrated.orderservice.core.claimcheck.LocalClaimCheckStore;
+import br.com.microservices.orchestrated.orderservice.core.claimcheck.MongoClaimCheckStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.file.Path;
+
+@Configuration
+public class ClaimCheckConfig {
+
+    @Value("${saga.claim-check.store}")
+    private String store;
+
+    @Value("${saga.claim-check.local.directory}")
+    private String localDirectory;
+
+    @Bean
+    public ClaimCheckStore claimCheckStore(MongoTemplate mongoTemplate) {
+        return switch (store) {
+            case "mongo" -> new MongoClaimCheckStore(mongoTemplate);
+            case "local" -> new LocalClaimCheckStore(Path.of(localDirectory));
+            default -> throw new IllegalArgumentException("Unknown claim check store " + store);
+        };
+    }
+}
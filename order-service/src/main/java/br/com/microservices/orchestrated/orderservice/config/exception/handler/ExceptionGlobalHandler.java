@@ -7,6 +7,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @ControllerAdvice
 public class ExceptionGlobalHandler {
 
@@ -15,4 +17,10 @@ public class ExceptionGlobalHandler {
         var exceptionDetail = new ExceptionDetails(HttpStatus.BAD_REQUEST.value(), validationException.getMessage());
         return new ResponseEntity<>(exceptionDetail, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<?> handleRejectedExecutionException(RejectedExecutionException rejectedExecutionException){
+        var exceptionDetail = new ExceptionDetails(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service is saturated, retry later");
+        return new ResponseEntity<>(exceptionDetail, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
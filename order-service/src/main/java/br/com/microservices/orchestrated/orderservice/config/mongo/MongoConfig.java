@@ -0,0 +1,53 @@
+package br.com.microservices.orchestrated.orderservice.config.mongo;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import com.mongodb.WriteConcern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+@Configuration
+public class MongoConfig {
+
+    @Value("${saga.intake.write-concern}")
+    private String intakeWriteConcern;
+
+    @Bean
+    public WriteConcern orderWriteConcern() {
+        var writeConcern = WriteConcern.valueOf(intakeWriteConcern);
+        if (writeConcern == null) {
+            throw new IllegalArgumentException("Unknown write concern " + intakeWriteConcern);
+        }
+        return writeConcern;
+    }
+
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter,
+                                       WriteConcern orderWriteConcern) {
+        var template = new MongoTemplate(mongoDatabaseFactory, mongoConverter);
+        template.setWriteConcernResolver(action -> resolveWriteConcern(action, orderWriteConcern));
+        return template;
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory,
+                                                       MongoConverter mongoConverter, WriteConcern orderWriteConcern) {
+        var template = new ReactiveMongoTemplate(reactiveMongoDatabaseFactory, mongoConverter);
+        template.setWriteConcernResolver(action -> resolveWriteConcern(action, orderWriteConcern));
+        return template;
+    }
+
+    private static WriteConcern resolveWriteConcern(MongoAction action, WriteConcern orderWriteConcern) {
+        return Order.class.equals(action.getEntityType())
+                && action.getMongoActionOperation() == MongoActionOperation.INSERT
+                ? orderWriteConcern
+                : action.getDefaultWriteConcern();
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.microservices.orchestrated.orderservice.config.reactive;
+
+import br.com.microservices.orchestrated.orderservice.core.controller.ReactiveOrderHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+
+/**
+ * The service runs on the servlet stack, so the WebFlux intake gets its own Reactor Netty server on a separate
+ * port. A few event loop threads serve every connection; the order insert goes through the reactive driver and
+ * never blocks them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "saga.intake.reactive.enabled", havingValue = "true")
+public class ReactiveIntakeServer {
+
+    private static final String EVENT_LOOP_PREFIX = "order-intake-reactive";
+
+    @Value("${saga.intake.reactive.port}")
+    private int port;
+
+    @Value("${saga.intake.reactive.event-loop-threads}")
+    private int eventLoopThreads;
+
+    private final ReactiveOrderHandler reactiveOrderHandler;
+    private final ObjectMapper objectMapper;
+
+    private LoopResources loopResources;
+    private DisposableServer server;
+
+    @PostConstruct
+    public void start() {
+        var router = RouterFunctions.route(POST("/api/order/async").and(contentType(MediaType.APPLICATION_JSON)),
+                reactiveOrderHandler::acceptOrder);
+        var strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                })
+                .build();
+        loopResources = LoopResources.create(EVENT_LOOP_PREFIX, eventLoopThreads, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loopResources)
+                .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(router, strategies)))
+                .bindNow();
+        log.info("Reactive order intake listening on port {} with {} event loop threads", server.port(),
+                eventLoopThreads);
+    }
+
+    @PreDestroy
+    public void stop() {
+        server.disposeNow();
+        loopResources.dispose();
+    }
+
+    public int getPort() {
+        return server.port();
+    }
+}
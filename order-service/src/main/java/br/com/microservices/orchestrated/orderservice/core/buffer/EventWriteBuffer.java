@@ -0,0 +1,231 @@
+package br.com.microservices.orchestrated.orderservice.core.buffer;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.metrics.EventBufferStats;
+import br.com.microservices.orchestrated.orderservice.core.metrics.Histogram;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for the event audit documents. Events wait in a bounded ring buffer and a background
+ * thread writes them with one unordered insertMany per flush-records events or flush-interval-ms, whichever
+ * comes first. When the buffer stays full the caller writes its events directly, so nothing is dropped, and
+ * shutdown drains whatever is still queued. Failed writes are retried with a doubling backoff up to max-attempts
+ * and every event given up on is logged by id. Duplicate keys are ignored: notify-ending may have created the
+ * document first.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventWriteBuffer {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Value("${saga.event-buffer.capacity}")
+    private int capacity;
+
+    @Value("${saga.event-buffer.flush-records}")
+    private int flushRecords;
+
+    @Value("${saga.event-buffer.flush-interval-ms}")
+    private long flushIntervalMs;
+
+    @Value("${saga.event-buffer.offer-timeout-ms}")
+    private long offerTimeoutMs;
+
+    @Value("${saga.event-buffer.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${saga.event-buffer.retry-backoff-ms}")
+    private long retryBackoffMs;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Histogram lagMillis = new Histogram();
+    private final Histogram flushMicros = new Histogram();
+    private final Histogram flushSize = new Histogram();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+    private BlockingQueue<Pending> queue;
+    private volatile boolean running;
+    private Thread worker;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        running = true;
+        worker = new Thread(this::run, "event-write-buffer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join();
+    }
+
+    public void addAll(List<Event> events) {
+        var overflow = new ArrayList<Pending>();
+        for (var event : events) {
+            var pending = new Pending(event, System.nanoTime());
+            if (!offer(pending)) {
+                overflow.add(pending);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            overflowed.addAndGet(overflow.size());
+            flush(overflow);
+        }
+    }
+
+    public EventBufferStats stats() {
+        return new EventBufferStats(queue.size(),
+                flushed.get(),
+                failed.get(),
+                retried.get(),
+                overflowed.get(),
+                lagMillis.snapshot(),
+                flushMicros.snapshot(),
+                flushSize.snapshot());
+    }
+
+    private boolean offer(Pending pending) {
+        try {
+            return running && queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<Pending>(flushRecords);
+        var interval = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (running) {
+            try {
+                var first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                var deadline = first.enqueuedAt() + interval;
+                while (batch.size() < flushRecords) {
+                    queue.drainTo(batch, flushRecords - batch.size());
+                    var remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushRecords || remaining <= 0) {
+                        break;
+                    }
+                    var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                log.error("Error flushing event buffer", e);
+                batch.forEach(pending -> log.error("Dropping buffered event {} of order {}", pending.event().getId(),
+                        pending.event().getOrderId()));
+                failed.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            log.info("Draining {} buffered events on shutdown", batch.size());
+            flush(batch);
+        }
+    }
+
+    /**
+     * Writes the batch, retrying whatever failed with a doubling backoff. Events still unwritten after
+     * max-attempts are logged one by one before they are given up.
+     */
+    private void flush(List<Pending> batch) {
+        var start = System.nanoTime();
+        var unwritten = write(batch);
+        var backoffMs = retryBackoffMs;
+        for (int attempt = 1; !unwritten.isEmpty() && attempt < maxAttempts && pause(backoffMs); attempt++) {
+            retried.addAndGet(unwritten.size());
+            unwritten = write(unwritten);
+            backoffMs *= 2;
+        }
+        var now = System.nanoTime();
+        flushMicros.record(TimeUnit.NANOSECONDS.toMicros(now - start));
+        flushSize.record(batch.size());
+        for (var pending : batch) {
+            lagMillis.record(TimeUnit.NANOSECONDS.toMillis(now - pending.enqueuedAt()));
+        }
+        for (var pending : unwritten) {
+            log.error("Giving up on buffered event {} of order {} after {} attempts", pending.event().getId(),
+                    pending.event().getOrderId(), maxAttempts);
+        }
+        flushed.addAndGet(batch.size() - unwritten.size());
+        failed.addAndGet(unwritten.size());
+    }
+
+    /**
+     * Returns the events that were not written; duplicate keys count as written.
+     */
+    private List<Pending> write(List<Pending> batch) {
+        var documents = new ArrayList<Document>(batch.size());
+        for (var pending : batch) {
+            var document = new Document();
+            mongoTemplate.getConverter().write(pending.event(), document);
+            documents.add(document);
+        }
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(Event.class))
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+            return List.of();
+        } catch (MongoBulkWriteException e) {
+            var unwritten = new ArrayList<Pending>();
+            for (var error : e.getWriteErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    unwritten.add(batch.get(error.getIndex()));
+                }
+            }
+            if (!unwritten.isEmpty()) {
+                log.warn("{} of {} buffered events were not written", unwritten.size(), batch.size(), e);
+            }
+            return unwritten;
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} buffered events", batch.size(), e);
+            return batch;
+        }
+    }
+
+    private boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Pending(Event event, long enqueuedAt) {
+    }
+}
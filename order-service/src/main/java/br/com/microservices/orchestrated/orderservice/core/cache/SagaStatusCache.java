@@ -0,0 +1,185 @@
+package br.com.microservices.orchestrated.orderservice.core.cache;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.metrics.StatusCacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of saga status projections keyed by orderId and by transactionId. Finished sagas never change
+ * again and stay until evicted; running ones expire after a short TTL. The notify-ending broadcast can arrive
+ * before the ending is persisted, so it leaves a marker instead of just dropping the entry: while the marker
+ * is there reads miss and go to the database, and a running projection read before the write landed is not
+ * cached again. Only a final projection replaces the marker.
+ * <p>
+ * Reads take no lock: each index is a {@link ConcurrentHashMap} and a hit only sets its entry's referenced bit.
+ * Writes go through {@code compute} so the marker check and the write are atomic per key, and the index is
+ * kept at its size by second-chance eviction over the keys in insertion order, which stands in for the
+ * access-ordered LRU without a shared lock on the read path.
+ */
+@Component
+public class SagaStatusCache {
+
+    private static final Set<String> FINAL_STATUSES = Set.of("SUCCESS", "FAIL");
+    private static final Entry ENDING = new Entry(null, Long.MAX_VALUE);
+
+    private final Index byOrderId;
+    private final Index byTransactionId;
+    private final long runningTtlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public SagaStatusCache(@Value("${saga.query.cache-size}") int cacheSize,
+                           @Value("${saga.query.running-ttl-ms}") long runningTtlMs) {
+        this.byOrderId = new Index(cacheSize);
+        this.byTransactionId = new Index(cacheSize);
+        this.runningTtlNanos = TimeUnit.MILLISECONDS.toNanos(runningTtlMs);
+    }
+
+    public static boolean isFinal(String status) {
+        return FINAL_STATUSES.contains(status);
+    }
+
+    public Optional<Event> getByOrderId(String orderId) {
+        return get(byOrderId, orderId);
+    }
+
+    public Optional<Event> getByTransactionId(String transactionId) {
+        return get(byTransactionId, transactionId);
+    }
+
+    public void put(Event event) {
+        var finished = isFinal(event.getStatus());
+        var expiresAt = finished ? Long.MAX_VALUE : System.nanoTime() + runningTtlNanos;
+        var entry = new Entry(event, expiresAt);
+        if (event.getOrderId() != null) {
+            byOrderId.put(event.getOrderId(), entry, finished);
+        }
+        if (event.getTransactionId() != null) {
+            byTransactionId.put(event.getTransactionId(), entry, finished);
+        }
+    }
+
+    /**
+     * Called when a saga's notify-ending event is seen, possibly before its final status is persisted.
+     */
+    public void markEnding(String orderId, String transactionId) {
+        invalidations.increment();
+        if (orderId != null) {
+            byOrderId.markEnding(orderId);
+        }
+        if (transactionId != null) {
+            byTransactionId.markEnding(transactionId);
+        }
+    }
+
+    public StatusCacheStats stats() {
+        return new StatusCacheStats(byOrderId.entries.size() + byTransactionId.entries.size(),
+                hits.sum(), misses.sum(), invalidations.sum());
+    }
+
+    private Optional<Event> get(Index index, String key) {
+        var entry = key == null ? null : index.entries.get(key);
+        if (entry == null || entry.event == null || entry.expiresAt < System.nanoTime()) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        hits.increment();
+        return Optional.of(entry.event);
+    }
+
+    private static boolean isEnding(Entry entry) {
+        return entry != null && (entry.event == null || isFinal(entry.event.getStatus()));
+    }
+
+    /**
+     * One key space of the cache. A key enters the insertion queue when it is added to the map and leaves the
+     * map only when the queue hands it to eviction, so the queue holds each cached key once. Expired running
+     * entries stay until they are overwritten or evicted.
+     */
+    private static final class Index {
+
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+        private final int capacity;
+
+        private Index(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private void put(String key, Entry entry, boolean finished) {
+            var added = new boolean[1];
+            entries.compute(key, (ignored, current) -> {
+                if (current == null) {
+                    added[0] = true;
+                    return entry;
+                }
+                return !finished && isEnding(current) ? current : entry;
+            });
+            if (added[0]) {
+                insertionOrder.add(key);
+                evict();
+            }
+        }
+
+        private void markEnding(String key) {
+            var added = new boolean[1];
+            entries.compute(key, (ignored, current) -> {
+                added[0] = current == null;
+                return isEnding(current) ? current : ENDING;
+            });
+            if (added[0]) {
+                insertionOrder.add(key);
+                evict();
+            }
+        }
+
+        /**
+         * Second chance: a key read since it last came up goes to the back of the queue with its bit cleared,
+         * otherwise it is dropped. A key whose entry was replaced while it was being looked at stays queued.
+         */
+        private void evict() {
+            while (entries.size() > capacity) {
+                var key = insertionOrder.poll();
+                if (key == null) {
+                    return;
+                }
+                var entry = entries.get(key);
+                if (entry == null) {
+                    continue;
+                }
+                if (entry.referenced) {
+                    entry.referenced = false;
+                    insertionOrder.add(key);
+                } else if (!entries.remove(key, entry)) {
+                    insertionOrder.add(key);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Event event;
+        private final long expiresAt;
+        private volatile boolean referenced;
+
+        private Entry(Event event, long expiresAt) {
+            this.event = event;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
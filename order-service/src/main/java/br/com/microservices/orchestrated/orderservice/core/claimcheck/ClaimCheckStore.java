@@ -0,0 +1,14 @@
+package br.com.microservices.orchestrated.orderservice.core.claimcheck;
+
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for order bodies that are too large to travel inside saga messages.
+ * Bodies are keyed by their SHA-256, so storing the same body twice is a no-op.
+ */
+public interface ClaimCheckStore {
+
+    void put(String hash, byte[] body);
+
+    Optional<byte[]> get(String hash);
+}
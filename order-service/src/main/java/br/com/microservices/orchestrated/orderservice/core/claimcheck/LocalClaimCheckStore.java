@@ -0,0 +1,58 @@
+package br.com.microservices.orchestrated.orderservice.core.claimcheck;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Stores each body as a file named after its hash, fanned out by the first two hex digits. Writes go
+ * through a temporary file and an atomic rename, so readers never see a partial body.
+ */
+public class LocalClaimCheckStore implements ClaimCheckStore {
+
+    private final Path directory;
+
+    public LocalClaimCheckStore(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void put(String hash, byte[] body) {
+        var target = pathOf(hash);
+        if (Files.exists(target)) {
+            return;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            var tmp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            Files.write(tmp, body);
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store claim check " + hash, e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> get(String hash) {
+        try {
+            return Optional.of(Files.readAllBytes(pathOf(hash)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read claim check " + hash, e);
+        }
+    }
+
+    private Path pathOf(String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+}
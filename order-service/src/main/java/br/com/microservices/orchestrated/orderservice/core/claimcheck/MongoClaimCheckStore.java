@@ -0,0 +1,40 @@
+package br.com.microservices.orchestrated.orderservice.core.claimcheck;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public class MongoClaimCheckStore implements ClaimCheckStore {
+
+    private static final String COLLECTION = "claim_check";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoClaimCheckStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void put(String hash, byte[] body) {
+        var update = new Update()
+                .setOnInsert("body", new Binary(body))
+                .setOnInsert("createdAt", LocalDateTime.now());
+        mongoTemplate.upsert(byHash(hash), update, COLLECTION);
+    }
+
+    @Override
+    public Optional<byte[]> get(String hash) {
+        return Optional.ofNullable(mongoTemplate.findOne(byHash(hash), Document.class, COLLECTION))
+                .map(document -> document.get("body", Binary.class).getData());
+    }
+
+    private Query byHash(String hash) {
+        return Query.query(Criteria.where("_id").is(hash));
+    }
+}
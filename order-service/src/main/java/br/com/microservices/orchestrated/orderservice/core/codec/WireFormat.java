@@ -0,0 +1,7 @@
+package br.com.microservices.orchestrated.orderservice.core.codec;
+
+public enum WireFormat {
+
+    JSON,
+    BINARY
+}
@@ -1,26 +1,61 @@
 package br.com.microservices.orchestrated.orderservice.core.consumer;
 
-import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
+import br.com.microservices.orchestrated.orderservice.core.cache.SagaStatusCache;
+import br.com.microservices.orchestrated.orderservice.core.codec.EventCodec;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.service.EventService;
+import br.com.microservices.orchestrated.orderservice.core.stream.SagaCompletionHub;
+import br.com.microservices.orchestrated.orderservice.core.stream.SagaReplyCorrelator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class EventConsumer {
 
-    private final JsonUtil jsonUtil;
+    private final EventCodec eventCodec;
+    private final EventService eventService;
+    private final SagaCompletionHub sagaCompletionHub;
+    private final SagaReplyCorrelator sagaReplyCorrelator;
+    private final SagaStatusCache sagaStatusCache;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.notify-ending}",
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void consumeNotifyEndingEvents(List<byte[]> payloads){
+        log.info("Receiving batch of {} events from notify-ending topic", payloads.size());
+        var events = new ArrayList<Event>(payloads.size());
+        for (var payload : payloads) {
+            try {
+                events.add(eventCodec.decode(payload));
+            } catch (IllegalArgumentException e) {
+                log.error("Discarding undecodable notify-ending event", e);
+            }
+        }
+        eventService.notifyEnding(events);
+    }
+
+    /**
+     * Every instance reads all endings in a group of its own, so the group id is built from the configured
+     * SAGA_INSTANCE_ID rather than the host name: a recreated container rejoins its group instead of leaving
+     * the previous one behind with committed offsets nobody reads again.
+     */
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}-${saga.instance-id}",
             topics = "${spring.kafka.topic.notify-ending}"
     )
-    public void consumeNotifyEndingEvent(String payload){
-        log.info("Receiving event {} from notify-ending topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        log.info(event.toString());
+    public void broadcastNotifyEndingEvent(byte[] payload) {
+        var event = eventCodec.decode(payload);
+        sagaStatusCache.markEnding(event.getOrderId(), event.getTransactionId());
+        sagaReplyCorrelator.complete(event);
+        sagaCompletionHub.publish(event);
     }
 }
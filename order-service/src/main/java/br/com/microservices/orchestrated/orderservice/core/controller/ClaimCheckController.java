@@ -0,0 +1,25 @@
+package br.com.microservices.orchestrated.orderservice.core.controller;
+
+import br.com.microservices.orchestrated.orderservice.core.service.ClaimCheckService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/claim-check")
+public class ClaimCheckController {
+
+    private final ClaimCheckService claimCheckService;
+
+    @GetMapping("{hash}")
+    public ResponseEntity<byte[]> findBody(@PathVariable String hash) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(claimCheckService.findBody(hash));
+    }
+}
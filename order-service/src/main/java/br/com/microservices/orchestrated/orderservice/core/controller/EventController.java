@@ -1,28 +1,52 @@
 package br.com.microservices.orchestrated.orderservice.core.controller;
 
-import br.com.microservices.orchestrated.orderservice.core.document.Order;
-import br.com.microservices.orchestrated.orderservice.core.dto.OrderRequestDTO;
-import br.com.microservices.orchestrated.orderservice.core.service.OrderService;
-import org.springframework.beans.factory.annotation.Autowired;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.dto.EventFiltersDTO;
+import br.com.microservices.orchestrated.orderservice.core.service.EventService;
+import br.com.microservices.orchestrated.orderservice.core.stream.SagaCompletionHub;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @RestController
-@RequestMapping("/api/order")
+@AllArgsConstructor
+@RequestMapping("/api/event")
 public class EventController {
 
-    private final OrderService orderService;
+    private final EventService eventService;
+    private final SagaCompletionHub sagaCompletionHub;
+
+    @GetMapping("/order/{orderId}")
+    public ResponseEntity<Event> findByOrderId(@PathVariable String orderId) {
+        return ResponseEntity.ok(eventService.findByOrderId(orderId));
+    }
+
+    @GetMapping("/transaction/{transactionId}")
+    public ResponseEntity<Event> findByTransactionId(@PathVariable String transactionId) {
+        return ResponseEntity.ok(eventService.findByTransactionId(transactionId));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Event>> findByFilters(EventFiltersDTO filters) {
+        return ResponseEntity.ok(eventService.findByFilters(filters));
+    }
 
-    @Autowired
-    public EventController(OrderService orderService) {
-        this.orderService = orderService;
+    @GetMapping(value = "/stream/{transactionId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCompletion(@PathVariable String transactionId) {
+        return sagaCompletionHub.subscribe(transactionId);
     }
 
-    @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody OrderRequestDTO orderRequestDTO){
-        return ResponseEntity.ok(orderService.createOrder(orderRequestDTO));
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCompletions(@RequestParam(required = false) String status,
+                                        @RequestParam(required = false) String source) {
+        return sagaCompletionHub.subscribeAll(status, source);
     }
 }
@@ -0,0 +1,54 @@
+package br.com.microservices.orchestrated.orderservice.core.controller;
+
+import br.com.microservices.orchestrated.orderservice.core.buffer.EventWriteBuffer;
+import br.com.microservices.orchestrated.orderservice.core.cache.SagaStatusCache;
+import br.com.microservices.orchestrated.orderservice.core.metrics.EventBufferStats;
+import br.com.microservices.orchestrated.orderservice.core.metrics.OutboxStats;
+import br.com.microservices.orchestrated.orderservice.core.metrics.ReplyWaitStats;
+import br.com.microservices.orchestrated.orderservice.core.metrics.StatusCacheStats;
+import br.com.microservices.orchestrated.orderservice.core.metrics.StreamStats;
+import br.com.microservices.orchestrated.orderservice.core.outbox.OutboxRelay;
+import br.com.microservices.orchestrated.orderservice.core.stream.SagaCompletionHub;
+import br.com.microservices.orchestrated.orderservice.core.stream.SagaReplyCorrelator;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final OutboxRelay outboxRelay;
+    private final SagaStatusCache sagaStatusCache;
+    private final SagaCompletionHub sagaCompletionHub;
+    private final SagaReplyCorrelator sagaReplyCorrelator;
+    private final EventWriteBuffer eventWriteBuffer;
+
+    @GetMapping("/outbox")
+    public ResponseEntity<OutboxStats> getOutboxStats() {
+        return ResponseEntity.ok(outboxRelay.stats());
+    }
+
+    @GetMapping("/status-cache")
+    public ResponseEntity<StatusCacheStats> getStatusCacheStats() {
+        return ResponseEntity.ok(sagaStatusCache.stats());
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamStats> getStreamStats() {
+        return ResponseEntity.ok(sagaCompletionHub.stats());
+    }
+
+    @GetMapping("/reply-wait")
+    public ResponseEntity<ReplyWaitStats> getReplyWaitStats() {
+        return ResponseEntity.ok(sagaReplyCorrelator.stats());
+    }
+
+    @GetMapping("/event-buffer")
+    public ResponseEntity<EventBufferStats> getEventBufferStats() {
+        return ResponseEntity.ok(eventWriteBuffer.stats());
+    }
+}
@@ -1,4 +1,46 @@
 package br.com.microservices.orchestrated.orderservice.core.controller;
 
+import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.dto.BulkOrderResponseDTO;
+import br.com.microservices.orchestrated.orderservice.core.dto.OrderReplyDTO;
+import br.com.microservices.orchestrated.orderservice.core.dto.OrderRequestDTO;
+import br.com.microservices.orchestrated.orderservice.core.service.OrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/order")
 public class OrderController {
+
+    private final OrderService orderService;
+
+    @Autowired
+    public OrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Order> createOrder(@RequestBody OrderRequestDTO orderRequestDTO){
+        return ResponseEntity.ok(orderService.createOrder(orderRequestDTO));
+    }
+
+    @PostMapping(params = "wait=true")
+    public CompletableFuture<ResponseEntity<OrderReplyDTO>> createOrderAndWait(@RequestBody OrderRequestDTO orderRequestDTO) {
+        return orderService.createOrderAndWait(orderRequestDTO)
+                .thenApply(reply -> reply.completion() == null
+                        ? ResponseEntity.accepted().body(reply)
+                        : ResponseEntity.ok(reply));
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOrderResponseDTO> createOrders(@RequestBody List<OrderRequestDTO> orderRequestDTOs) {
+        return ResponseEntity.accepted().body(orderService.createOrders(orderRequestDTOs));
+    }
 }
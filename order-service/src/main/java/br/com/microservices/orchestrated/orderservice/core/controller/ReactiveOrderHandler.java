@@ -0,0 +1,55 @@
+package br.com.microservices.orchestrated.orderservice.core.controller;
+
+import br.com.microservices.orchestrated.orderservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.orderservice.config.exception.record.ExceptionDetails;
+import br.com.microservices.orchestrated.orderservice.core.dto.OrderAcceptedDTO;
+import br.com.microservices.orchestrated.orderservice.core.dto.OrderRequestDTO;
+import br.com.microservices.orchestrated.orderservice.core.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code POST /api/order/async}, served by the reactive intake server: takes the same body as
+ * {@code POST /api/order} and answers 202 with the order id and transactionId, holding no thread while the
+ * order is being stored.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactiveOrderHandler {
+
+    private final OrderService orderService;
+
+    public Mono<ServerResponse> acceptOrder(ServerRequest request) {
+        return request.bodyToMono(OrderRequestDTO.class)
+                .switchIfEmpty(Mono.error(() -> new ValidationException("Order must be informed.")))
+                .flatMap(orderService::acceptOrderReactive)
+                .flatMap(order -> ServerResponse.accepted()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new OrderAcceptedDTO(order.getId(), order.getTransactionId())))
+                .onErrorResume(this::handleError);
+    }
+
+    private Mono<ServerResponse> handleError(Throwable error) {
+        if (error instanceof ValidationException || error instanceof ServerWebInputException) {
+            return respond(HttpStatus.BAD_REQUEST, error instanceof ServerWebInputException input
+                    ? input.getReason()
+                    : error.getMessage());
+        }
+        log.error("Error accepting order", error);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Order could not be stored");
+    }
+
+    private static Mono<ServerResponse> respond(HttpStatus status, String message) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ExceptionDetails(status.value(), message));
+    }
+}
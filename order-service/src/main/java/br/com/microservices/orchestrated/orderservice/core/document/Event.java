@@ -24,6 +24,7 @@ public class Event {
     private String status;
     private List<History> eventHistory;
     private LocalDateTime createdAt;
+    private ClaimCheck claimCheck;
 
     public String getId() {
         return id;
@@ -88,4 +89,12 @@ public class Event {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public ClaimCheck getClaimCheck() {
+        return claimCheck;
+    }
+
+    public void setClaimCheck(ClaimCheck claimCheck) {
+        this.claimCheck = claimCheck;
+    }
 }
@@ -1,5 +1,6 @@
 package br.com.microservices.orchestrated.orderservice.core.document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,6 +25,8 @@ public class Order {
     private String transactionId;
     private double totalAmount;
     private int totalItens;
+    @JsonIgnore
+    private Outbox outbox;
 
     public String getId() {
         return id;
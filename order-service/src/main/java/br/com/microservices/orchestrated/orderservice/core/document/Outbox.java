@@ -0,0 +1,26 @@
+package br.com.microservices.orchestrated.orderservice.core.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class Outbox {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+
+    private String status;
+    private Instant enqueuedAt;
+    private Instant sentAt;
+    private int attempts;
+    private String traceparent;
+    private String relayOwner;
+    private Instant leaseUntil;
+}
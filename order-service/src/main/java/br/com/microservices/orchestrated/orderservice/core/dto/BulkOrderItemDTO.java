@@ -0,0 +1,12 @@
+package br.com.microservices.orchestrated.orderservice.core.dto;
+
+public record BulkOrderItemDTO(int index, String orderId, String transactionId, String error) {
+
+    public static BulkOrderItemDTO accepted(int index, String orderId, String transactionId) {
+        return new BulkOrderItemDTO(index, orderId, transactionId, null);
+    }
+
+    public static BulkOrderItemDTO rejected(int index, String error) {
+        return new BulkOrderItemDTO(index, null, null, error);
+    }
+}
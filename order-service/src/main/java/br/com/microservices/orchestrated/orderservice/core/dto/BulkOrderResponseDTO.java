@@ -0,0 +1,6 @@
+package br.com.microservices.orchestrated.orderservice.core.dto;
+
+import java.util.List;
+
+public record BulkOrderResponseDTO(int accepted, int rejected, List<BulkOrderItemDTO> items) {
+}
@@ -1,4 +1,14 @@
 package br.com.microservices.orchestrated.orderservice.core.dto;
 
-public record EventFiltersDTO() {
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public record EventFiltersDTO(String orderId,
+                              String transactionId,
+                              String source,
+                              String status,
+                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                              Integer limit) {
 }
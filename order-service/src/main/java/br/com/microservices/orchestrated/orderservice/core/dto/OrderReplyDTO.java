@@ -0,0 +1,4 @@
+package br.com.microservices.orchestrated.orderservice.core.dto;
+
+public record OrderReplyDTO(String orderId, String transactionId, SagaCompletionDTO completion) {
+}
@@ -0,0 +1,20 @@
+package br.com.microservices.orchestrated.orderservice.core.dto;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.document.History;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record SagaCompletionDTO(String orderId,
+                                String transactionId,
+                                String source,
+                                String status,
+                                List<History> eventHistory,
+                                LocalDateTime createdAt) {
+
+    public static SagaCompletionDTO from(Event event) {
+        return new SagaCompletionDTO(event.getOrderId(), event.getTransactionId(), event.getSource(),
+                event.getStatus(), event.getEventHistory(), event.getCreatedAt());
+    }
+}
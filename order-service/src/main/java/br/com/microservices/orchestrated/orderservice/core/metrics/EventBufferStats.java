@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.orderservice.core.metrics;
+
+public record EventBufferStats(int queued,
+                               long flushed,
+                               long failed,
+                               long retried,
+                               long overflowed,
+                               HistogramSnapshot lagMillis,
+                               HistogramSnapshot flushMicros,
+                               HistogramSnapshot flushSize) {
+}
@@ -0,0 +1,84 @@
+package br.com.microservices.orchestrated.orderservice.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram in the spirit of HdrHistogram: values below 64 are counted exactly and larger
+ * values land in one of 32 linear sub-buckets per power of two, so every recorded value is within ~3% of
+ * its reported percentile. Recording is a couple of bit operations and atomic increments and never allocates.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_LIMIT = SUB_BUCKET_COUNT << 1;
+    private static final int BUCKET_COUNT = (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + EXACT_LIMIT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        var v = Math.max(0, value);
+        counts.incrementAndGet(indexOf(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        var currentMax = max.get();
+        while (v > currentMax && !max.compareAndSet(currentMax, v)) {
+            currentMax = max.get();
+        }
+    }
+
+    public HistogramSnapshot snapshot() {
+        var total = count.get();
+        if (total == 0) {
+            return new HistogramSnapshot(0, 0, 0, 0, 0, 0);
+        }
+        return new HistogramSnapshot(total,
+                (double) sum.get() / total,
+                valueAtPercentile(total, 50.0),
+                valueAtPercentile(total, 99.0),
+                valueAtPercentile(total, 99.9),
+                max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    private long valueAtPercentile(long total, double percentile) {
+        var target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        var seen = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private static int indexOf(long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        var shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < EXACT_LIMIT) {
+            return index;
+        }
+        var shift = index / SUB_BUCKET_COUNT - 1;
+        var subBucket = (long) (index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT);
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.microservices.orchestrated.orderservice.core.metrics;
+
+public record HistogramSnapshot(long count,
+                                double mean,
+                                long p50,
+                                long p99,
+                                long p999,
+                                long max) {
+}
@@ -0,0 +1,9 @@
+package br.com.microservices.orchestrated.orderservice.core.metrics;
+
+public record OutboxStats(long relayed,
+                          long failed,
+                          long batches,
+                          long oldestPendingAgeMillis,
+                          HistogramSnapshot relayLagMillis,
+                          HistogramSnapshot batchSize) {
+}
@@ -0,0 +1,4 @@
+package br.com.microservices.orchestrated.orderservice.core.metrics;
+
+public record ReplyWaitStats(int waiting, long completed, long timedOut, long rejected) {
+}
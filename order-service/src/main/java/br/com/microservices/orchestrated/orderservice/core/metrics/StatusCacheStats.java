@@ -0,0 +1,4 @@
+package br.com.microservices.orchestrated.orderservice.core.metrics;
+
+public record StatusCacheStats(int size, long hits, long misses, long invalidations) {
+}
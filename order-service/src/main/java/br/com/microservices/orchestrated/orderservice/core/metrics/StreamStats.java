@@ -0,0 +1,8 @@
+package br.com.microservices.orchestrated.orderservice.core.metrics;
+
+public record StreamStats(int transactionSubscriptions,
+                          int firehoseSubscriptions,
+                          long published,
+                          long delivered,
+                          long dropped) {
+}
@@ -0,0 +1,250 @@
+package br.com.microservices.orchestrated.orderservice.core.outbox;
+
+import br.com.microservices.orchestrated.orderservice.core.buffer.EventWriteBuffer;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.Outbox;
+import br.com.microservices.orchestrated.orderservice.core.metrics.Histogram;
+import br.com.microservices.orchestrated.orderservice.core.metrics.OutboxStats;
+import br.com.microservices.orchestrated.orderservice.core.producer.SagaProducer;
+import br.com.microservices.orchestrated.orderservice.core.service.ClaimCheckService;
+import br.com.microservices.orchestrated.orderservice.core.tracing.TraceContext;
+import br.com.microservices.orchestrated.orderservice.core.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains orders whose outbox is still pending to start-saga. Orders are read oldest first through a partial
+ * index that only holds pending entries and claimed by stamping this instance and a lease on the ones no
+ * other instance holds, so running several order-service instances does not send each order once per
+ * instance. The whole claimed batch is handed to the producer pipeline, and only the records Kafka
+ * acknowledged are marked sent and have their events passed to the write-behind buffer. Anything else is
+ * released and picked up again, as is a batch whose instance died before its lease ran out, so delivery is at
+ * least once and the orchestrator's dedup absorbs the repeats.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final String OUTBOX_STATUS = "outbox.status";
+    private static final String OUTBOX_RELAY_OWNER = "outbox.relayOwner";
+    private static final String OUTBOX_LEASE_UNTIL = "outbox.leaseUntil";
+
+    @Value("${saga.outbox.batch-size}")
+    private int batchSize;
+
+    @Value("${saga.outbox.poll-interval-ms}")
+    private long pollIntervalMs;
+
+    @Value("${saga.outbox.send-timeout-ms}")
+    private long sendTimeoutMs;
+
+    @Value("${saga.outbox.lease-ms}")
+    private long leaseMs;
+
+    @Value("${saga.instance-id}")
+    private String instanceId;
+
+    private final MongoTemplate mongoTemplate;
+    private final EventWriteBuffer eventWriteBuffer;
+    private final ClaimCheckService claimCheckService;
+    private final SagaProducer producer;
+    private final Tracer tracer;
+
+    private final Histogram relayLagMillis = new Histogram();
+    private final Histogram batchSizes = new Histogram();
+    private final AtomicLong relayed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Instant oldestPending;
+    private volatile boolean running;
+    private Thread worker;
+
+    @PostConstruct
+    public void start() {
+        mongoTemplate.indexOps(Order.class).ensureIndex(new Index()
+                .on(OUTBOX_STATUS, Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .partial(PartialIndexFilter.of(Criteria.where(OUTBOX_STATUS).is(Outbox.PENDING)))
+                .named("outbox_pending"));
+        running = true;
+        worker = new Thread(this::run, "outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(sendTimeoutMs);
+    }
+
+    public void wakeUp() {
+        LockSupport.unpark(worker);
+    }
+
+    public OutboxStats stats() {
+        var oldest = oldestPending;
+        return new OutboxStats(relayed.get(),
+                failed.get(),
+                batchSizes.snapshot().count(),
+                oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis(),
+                relayLagMillis.snapshot(),
+                batchSizes.snapshot());
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (relayBatch() < batchSize) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(pollIntervalMs));
+                }
+            } catch (Exception e) {
+                log.error("Error relaying outbox batch", e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(pollIntervalMs));
+            }
+        }
+    }
+
+    private int relayBatch() {
+        oldestPending = oldestUnpublished();
+        var orders = claimBatch();
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        var outboxes = orders.stream().map(Order::getOutbox).toList();
+        orders.forEach(order -> order.setOutbox(null));
+        batchSizes.record(orders.size());
+
+        var events = orders.stream().map(this::createPayload).toList();
+        var sends = new ArrayList<CompletableFuture<Void>>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            var parent = TraceContext.parse(outboxes.get(i).getTraceparent());
+            try (var span = tracer.startSpan("relayOrder", parent)) {
+                sends.add(producer.sendEvent(claimCheckService.toMessage(events.get(i)), events.get(i).getOrderId()));
+            }
+        }
+        awaitAndMark(orders, outboxes, events, sends);
+        return orders.size();
+    }
+
+    private void awaitAndMark(List<Order> orders, List<Outbox> outboxes, List<Event> events,
+                              List<CompletableFuture<Void>> sends) {
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        var sent = new ArrayList<String>(orders.size());
+        var sentEvents = new ArrayList<Event>(orders.size());
+        var unsent = new ArrayList<String>();
+        for (int i = 0; i < orders.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sent.add(orders.get(i).getId());
+                sentEvents.add(events.get(i));
+                relayLagMillis.record(Duration.between(outboxes.get(i).getEnqueuedAt(), Instant.now()).toMillis());
+            } catch (ExecutionException | TimeoutException e) {
+                unsent.add(orders.get(i).getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        var now = Instant.now();
+        if (!sent.isEmpty()) {
+            eventWriteBuffer.addAll(sentEvents);
+            mongoTemplate.updateMulti(byIds(sent),
+                    new Update().set(OUTBOX_STATUS, Outbox.SENT).set("outbox.sentAt", now).inc("outbox.attempts", 1)
+                            .unset(OUTBOX_LEASE_UNTIL),
+                    Order.class);
+        }
+        if (!unsent.isEmpty()) {
+            mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(unsent).and(OUTBOX_RELAY_OWNER).is(instanceId)),
+                    new Update().inc("outbox.attempts", 1).unset(OUTBOX_LEASE_UNTIL), Order.class);
+            log.warn("{} outbox records were not acknowledged and stay pending", unsent.size());
+        }
+        relayed.addAndGet(sent.size());
+        failed.addAndGet(unsent.size());
+    }
+
+    /**
+     * Picks the oldest pending orders nobody holds a lease on, leases them to this instance in one update
+     * and reads back the ones that update won. An order another instance claimed in between no longer
+     * matches the update's filter, and the lease expiry identifies this claim among the instance's own.
+     */
+    private List<Order> claimBatch() {
+        var now = Instant.now();
+        var candidates = Query.query(claimable(now))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(batchSize);
+        candidates.fields().include("_id");
+        var ids = mongoTemplate.find(candidates, Order.class).stream().map(Order::getId).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        var leaseUntil = now.plusMillis(leaseMs).truncatedTo(ChronoUnit.MILLIS);
+        var claim = mongoTemplate.updateMulti(Query.query(claimable(now).and("_id").in(ids)),
+                new Update().set(OUTBOX_RELAY_OWNER, instanceId).set(OUTBOX_LEASE_UNTIL, leaseUntil), Order.class);
+        if (claim.getModifiedCount() == 0) {
+            return List.of();
+        }
+        return mongoTemplate.find(Query.query(Criteria.where("_id").in(ids)
+                        .and(OUTBOX_RELAY_OWNER).is(instanceId)
+                        .and(OUTBOX_LEASE_UNTIL).is(leaseUntil))
+                .with(Sort.by(Sort.Direction.ASC, "_id")), Order.class);
+    }
+
+    /**
+     * Enqueue time of the oldest order not published yet, whether or not an instance holds a lease on it, so
+     * the relay lag keeps growing while leased batches are still in flight.
+     */
+    private Instant oldestUnpublished() {
+        var query = Query.query(Criteria.where(OUTBOX_STATUS).is(Outbox.PENDING))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(1);
+        query.fields().include("outbox.enqueuedAt");
+        var oldest = mongoTemplate.findOne(query, Order.class);
+        return oldest == null || oldest.getOutbox() == null ? null : oldest.getOutbox().getEnqueuedAt();
+    }
+
+    private Criteria claimable(Instant now) {
+        return Criteria.where(OUTBOX_STATUS).is(Outbox.PENDING)
+                .orOperator(Criteria.where(OUTBOX_LEASE_UNTIL).exists(false), Criteria.where(OUTBOX_LEASE_UNTIL).lt(now));
+    }
+
+    private Event createPayload(Order order) {
+        var event = new Event();
+        event.setId(order.getId());
+        event.setOrderId(order.getId());
+        event.setTransactionId(order.getTransactionId());
+        event.setPayload(order);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    private Query byIds(List<String> ids) {
+        return Query.query(Criteria.where("_id").in(ids));
+    }
+}
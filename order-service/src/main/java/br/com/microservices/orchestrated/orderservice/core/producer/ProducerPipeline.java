@@ -0,0 +1,206 @@
+package br.com.microservices.orchestrated.orderservice.core.producer;
+
+import br.com.microservices.orchestrated.orderservice.config.kafka.ProducerProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Sends records through a KafkaTemplate per producer profile while bounding how many records and bytes are
+ * waiting for a broker acknowledgement. When either budget is spent the caller blocks for up to max-block-ms,
+ * pushing back on the listener threads instead of letting the client buffer grow. Transient broker errors are
+ * retried by the idempotent producer itself within delivery.timeout.ms, which keeps per-key order; the future
+ * returned by {@link #send} only fails once the producer gives up, and callers must not acknowledge the
+ * record that caused the send before it completes.
+ */
+@Slf4j
+public class ProducerPipeline {
+
+    private final Function<String, ProducerProfile> profileOfTopic;
+    private final Function<ProducerProfile, ProducerFactory<String, byte[]>> factoryOfProfile;
+    private final Map<ProducerProfile, KafkaTemplate<String, byte[]>> templates = new ConcurrentHashMap<>();
+    private final Map<String, TopicRoute> routes = new ConcurrentHashMap<>();
+    private final Semaphore recordPermits;
+    private final Semaphore bytePermits;
+    private final int maxInFlightRecords;
+    private final int maxInFlightBytes;
+    private final long maxBlockMs;
+    private final MeterRegistry meterRegistry;
+    private final Timer blocked;
+    private final Counter rejected;
+
+    public ProducerPipeline(Function<String, ProducerProfile> profileOfTopic,
+                            Function<ProducerProfile, ProducerFactory<String, byte[]>> factoryOfProfile,
+                            int maxInFlightRecords,
+                            int maxInFlightBytes,
+                            long maxBlockMs,
+                            MeterRegistry meterRegistry) {
+        this.profileOfTopic = profileOfTopic;
+        this.factoryOfProfile = factoryOfProfile;
+        this.maxInFlightRecords = maxInFlightRecords;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.recordPermits = new Semaphore(maxInFlightRecords);
+        this.bytePermits = new Semaphore(maxInFlightBytes);
+        this.maxBlockMs = maxBlockMs;
+        this.meterRegistry = meterRegistry;
+        this.blocked = Timer.builder("saga.producer.blocked")
+                .description("Time a send waited for in-flight budget")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("saga.producer.rejected")
+                .description("Sends refused because the in-flight budget stayed spent for max-block-ms")
+                .register(meterRegistry);
+        Gauge.builder("saga.producer.in-flight.records", recordPermits, permits -> maxInFlightRecords - permits.availablePermits())
+                .description("Records sent and not yet acknowledged by the broker")
+                .register(meterRegistry);
+        Gauge.builder("saga.producer.in-flight.bytes", bytePermits, permits -> maxInFlightBytes - permits.availablePermits())
+                .description("Bytes sent and not yet acknowledged by the broker")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Void> send(ProducerRecord<String, byte[]> record) {
+        var route = routeOf(record.topic());
+        var bytes = weigh(record);
+        var start = System.nanoTime();
+        if (!acquire(bytes)) {
+            rejected.increment();
+            throw new IllegalStateException("Producer pipeline stayed full for %d ms, record to topic %s was not sent"
+                    .formatted(maxBlockMs, record.topic()));
+        }
+        var sendStart = System.nanoTime();
+        blocked.record(sendStart - start, TimeUnit.NANOSECONDS);
+        var completion = new CompletableFuture<Void>();
+        var settled = new AtomicBoolean();
+        try {
+            route.template()
+                    .send(record)
+                    .whenComplete((result, error) -> {
+                        if (settled.compareAndSet(false, true)) {
+                            settle(record, route, bytes, sendStart, error, completion);
+                        }
+                    });
+        } catch (Exception e) {
+            if (settled.compareAndSet(false, true)) {
+                settle(record, route, bytes, sendStart, e, completion);
+            }
+        }
+        return completion;
+    }
+
+    /**
+     * Blocks a listener until the sends it issued for its record are acknowledged, flushing first so the
+     * wait is not stretched by linger.ms. Throws when any send failed, so the container error handler
+     * retries or dead-letters the record instead of committing its offset.
+     */
+    public void await(CompletableFuture<Void> sends) {
+        if (!sends.isDone()) {
+            flush();
+        }
+        try {
+            sends.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Saga send failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for saga send", e);
+        }
+    }
+
+    public void flush() {
+        templates.values().forEach(KafkaTemplate::flush);
+    }
+
+    public void close() {
+        flush();
+        templates.values().forEach(template -> template.getProducerFactory().reset());
+    }
+
+    private void settle(ProducerRecord<String, byte[]> record, TopicRoute route, int bytes, long start,
+                        Throwable error, CompletableFuture<Void> completion) {
+        release(bytes);
+        route.sent().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (error == null) {
+            completion.complete(null);
+            return;
+        }
+        Counter.builder("saga.producer.errors")
+                .tag("topic", record.topic())
+                .tag("exception", rootCause(error).getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        log.error("Failed to send record to topic {} with key {}", record.topic(), record.key(), error);
+        completion.completeExceptionally(error);
+    }
+
+    private TopicRoute routeOf(String topic) {
+        var route = routes.get(topic);
+        return route != null ? route : routes.computeIfAbsent(topic, this::newRoute);
+    }
+
+    private TopicRoute newRoute(String topic) {
+        var profile = profileOfTopic.apply(topic);
+        log.info("Producer profile for topic {} is {}", topic, profile);
+        var template = templates.computeIfAbsent(profile, key -> new KafkaTemplate<>(factoryOfProfile.apply(key)));
+        var sent = Timer.builder("saga.producer.send")
+                .description("Time from handing a record to the producer until the broker acknowledged or failed it")
+                .tag("topic", topic)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        return new TopicRoute(template, sent);
+    }
+
+    private boolean acquire(int bytes) {
+        try {
+            var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxBlockMs);
+            if (!recordPermits.tryAcquire(maxBlockMs, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+            if (!bytePermits.tryAcquire(bytes, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                recordPermits.release();
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void release(int bytes) {
+        bytePermits.release(bytes);
+        recordPermits.release();
+    }
+
+    private int weigh(ProducerRecord<String, byte[]> record) {
+        var size = record.value() == null ? 0 : record.value().length;
+        if (record.key() != null) {
+            size += record.key().length();
+        }
+        return Math.max(1, Math.min(size, maxInFlightBytes));
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        var cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private record TopicRoute(KafkaTemplate<String, byte[]> template, Timer sent) {
+    }
+}
@@ -1,27 +1,37 @@
 package br.com.microservices.orchestrated.orderservice.core.producer;
 
+import br.com.microservices.orchestrated.orderservice.core.codec.EventCodec;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class SagaProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ProducerPipeline producerPipeline;
+    private final Tracer tracer;
+    private final EventCodec eventCodec;
 
     @Value("${spring.kafka.topic.start-saga}")
     private String startSagaTopic;
 
-    public void sendEvent(String paylod) {
+    public CompletableFuture<Void> sendEvent(Event event, String key) {
         try {
-            log.info("Sending event to topic {} witg data {}", startSagaTopic, paylod);
-            kafkaTemplate.send(startSagaTopic, paylod);
+            log.info("Sending event to topic {} witg data {}", startSagaTopic, event);
+            var record = new ProducerRecord<>(startSagaTopic, key, eventCodec.encode(event, startSagaTopic));
+            tracer.inject(record.headers());
+            return producerPipeline.send(record);
         } catch (Exception e) {
-            log.error("Error tryign to send data to topic {} with data {}", startSagaTopic, paylod, e);
+            log.error("Error tryign to send data to topic {} with data {}", startSagaTopic, event, e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package br.com.microservices.orchestrated.orderservice.core.repository;
 
-import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface EventRepository extends MongoRepository<Order, String> {
+public interface EventRepository extends MongoRepository<Event, String> {
 }
@@ -0,0 +1,93 @@
+package br.com.microservices.orchestrated.orderservice.core.service;
+
+import br.com.microservices.orchestrated.orderservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.orderservice.core.claimcheck.ClaimCheckStore;
+import br.com.microservices.orchestrated.orderservice.core.document.ClaimCheck;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.OrderProducts;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Moves the product list of large orders out of the saga messages. The body is stored once, keyed by its
+ * SHA-256, and the message carries only the hash and size; participants fetch the body when they need it.
+ */
+@Slf4j
+@Service
+public class ClaimCheckService {
+
+    private final ClaimCheckStore claimCheckStore;
+    private final ObjectWriter productsWriter;
+    private final boolean enabled;
+    private final int thresholdBytes;
+
+    public ClaimCheckService(ClaimCheckStore claimCheckStore,
+                             ObjectMapper objectMapper,
+                             @Value("${saga.claim-check.enabled}") boolean enabled,
+                             @Value("${saga.claim-check.threshold-bytes}") int thresholdBytes) {
+        this.claimCheckStore = claimCheckStore;
+        this.productsWriter = objectMapper.writerFor(new TypeReference<List<OrderProducts>>() { });
+        this.enabled = enabled;
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    public Event toMessage(Event event) {
+        var order = event.getPayload();
+        if (!enabled || order == null || ObjectUtils.isEmpty(order.getOrderProducts())) {
+            return event;
+        }
+        byte[] body;
+        try {
+            body = productsWriter.writeValueAsBytes(order.getOrderProducts());
+        } catch (Exception e) {
+            log.error("Could not serialize products of order {}, sending them inline", order.getId(), e);
+            return event;
+        }
+        if (body.length < thresholdBytes) {
+            return event;
+        }
+        var hash = sha256(body);
+        claimCheckStore.put(hash, body);
+        return Event.builder()
+                .id(event.getId())
+                .transactionId(event.getTransactionId())
+                .orderId(event.getOrderId())
+                .payload(Order.builder()
+                        .id(order.getId())
+                        .createdAt(order.getCreatedAt())
+                        .transactionId(order.getTransactionId())
+                        .totalAmount(order.getTotalAmount())
+                        .totalItens(order.getTotalItens())
+                        .build())
+                .source(event.getSource())
+                .status(event.getStatus())
+                .eventHistory(event.getEventHistory())
+                .createdAt(event.getCreatedAt())
+                .claimCheck(new ClaimCheck(hash, body.length))
+                .build();
+    }
+
+    public byte[] findBody(String hash) {
+        return claimCheckStore.get(hash)
+                .orElseThrow(() -> new ValidationException("Claim check not found for hash " + hash));
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
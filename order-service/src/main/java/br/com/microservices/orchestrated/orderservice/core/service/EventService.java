@@ -1,7 +1,225 @@
-package br.com.microservices.orchestrated.orderservice.core.service.impl;
+package br.com.microservices.orchestrated.orderservice.core.service;
 
+import br.com.microservices.orchestrated.orderservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.orderservice.core.cache.SagaStatusCache;
 import br.com.microservices.orchestrated.orderservice.core.document.Event;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import br.com.microservices.orchestrated.orderservice.core.document.History;
+import br.com.microservices.orchestrated.orderservice.core.dto.EventFiltersDTO;
+import br.com.microservices.orchestrated.orderservice.core.repository.EventRepository;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.InsertManyOptions;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
 
-public class EventServiceImpl implements MongoRepository<Event, String> {
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventService {
+
+    private static final String ORDER_ID = "orderId";
+    private static final String TRANSACTION_ID = "transactionId";
+    private static final String SOURCE = "source";
+    private static final String STATUS = "status";
+    private static final String CREATED_AT = "createdAt";
+    private static final String PAYLOAD = "payload";
+    private static final String EVENT_HISTORY = "eventHistory";
+    private static final String ID = "_id";
+    private static final Set<String> FINAL_STATUSES = Set.of("SUCCESS", "FAIL");
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Value("${saga.query.max-results}")
+    private int maxResults;
+
+    private final EventRepository eventRepository;
+    private final MongoTemplate mongoTemplate;
+    private final SagaStatusCache sagaStatusCache;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        var indexOps = mongoTemplate.indexOps(Event.class);
+        indexOps.ensureIndex(new Index().on(ORDER_ID, Sort.Direction.ASC).on(CREATED_AT, Sort.Direction.DESC)
+                .named("order_id_created_at"));
+        indexOps.ensureIndex(new Index().on(TRANSACTION_ID, Sort.Direction.ASC).on(CREATED_AT, Sort.Direction.DESC)
+                .named("transaction_id_created_at"));
+        indexOps.ensureIndex(new Index().on(STATUS, Sort.Direction.ASC).on(SOURCE, Sort.Direction.ASC)
+                .on(CREATED_AT, Sort.Direction.DESC).named("status_source_created_at"));
+    }
+
+    public Event save(Event event) {
+        return eventRepository.save(event);
+    }
+
+    /**
+     * Moves each saga document to its final status with a conditional updateOne that only matches while the
+     * stored status is not final yet, so a redelivered ending is a no-op. The update pushes the history
+     * entries the document does not hold yet, which for a document the relay wrote is the whole history.
+     * Endings whose document the write buffer has not flushed yet are inserted; if the buffer wins that race
+     * the update is applied again.
+     */
+    public void notifyEnding(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        var storedHistory = storedHistorySizes(events);
+        var missing = new ArrayList<Event>();
+        var existing = new ArrayList<Event>(events.size());
+        for (var event : events) {
+            (storedHistory.containsKey(event.getId()) ? existing : missing).add(event);
+        }
+        var updated = existing.isEmpty() ? 0 : updateEndings(existing, storedHistory).getMatchedCount();
+        var created = 0;
+        if (!missing.isEmpty()) {
+            var raced = insertEndings(missing);
+            created = missing.size() - raced.size();
+            if (!raced.isEmpty()) {
+                updated += updateEndings(raced, storedHistorySizes(raced)).getMatchedCount();
+            }
+        }
+        cachePersisted(events);
+        log.info("{} orders with saga notified, {} events updated, {} created", events.size(), updated, created);
+    }
+
+    public Event findByOrderId(String orderId) {
+        return sagaStatusCache.getByOrderId(orderId)
+                .orElseGet(() -> findLatest(ORDER_ID, orderId));
+    }
+
+    public Event findByTransactionId(String transactionId) {
+        return sagaStatusCache.getByTransactionId(transactionId)
+                .orElseGet(() -> findLatest(TRANSACTION_ID, transactionId));
+    }
+
+    public List<Event> findByFilters(EventFiltersDTO filters) {
+        var query = new Query();
+        addIfPresent(query, ORDER_ID, filters.orderId());
+        addIfPresent(query, TRANSACTION_ID, filters.transactionId());
+        addIfPresent(query, SOURCE, filters.source());
+        addIfPresent(query, STATUS, filters.status());
+        if (filters.createdFrom() != null || filters.createdTo() != null) {
+            var createdAt = Criteria.where(CREATED_AT);
+            if (filters.createdFrom() != null) {
+                createdAt.gte(filters.createdFrom());
+            }
+            if (filters.createdTo() != null) {
+                createdAt.lt(filters.createdTo());
+            }
+            query.addCriteria(createdAt);
+        }
+        var limit = filters.limit() == null ? maxResults : Math.min(Math.max(filters.limit(), 1), maxResults);
+        query.with(Sort.by(Sort.Direction.DESC, CREATED_AT)).limit(limit);
+        query.fields().exclude(PAYLOAD);
+        return mongoTemplate.find(query, Event.class);
+    }
+
+    private Event findLatest(String field, String value) {
+        if (ObjectUtils.isEmpty(value)) {
+            throw new ValidationException("OrderID or TransactionID must be informed.");
+        }
+        var query = Query.query(Criteria.where(field).is(value))
+                .with(Sort.by(Sort.Direction.DESC, CREATED_AT));
+        query.fields().exclude(PAYLOAD);
+        var event = mongoTemplate.findOne(query, Event.class);
+        if (event == null) {
+            throw new ValidationException("Event not found by %s %s".formatted(field, value));
+        }
+        sagaStatusCache.put(event);
+        return event;
+    }
+
+    private BulkWriteResult updateEndings(List<Event> events, Map<String, Integer> storedHistory) {
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class);
+        for (var event : events) {
+            var update = new Update()
+                    .set(SOURCE, event.getSource())
+                    .set(STATUS, event.getStatus());
+            var unstored = unstoredHistory(event, storedHistory.getOrDefault(event.getId(), 0));
+            if (!unstored.isEmpty()) {
+                update.push(EVENT_HISTORY).each(unstored.toArray());
+            }
+            bulk.updateOne(Query.query(Criteria.where(ID).is(event.getId()).and(STATUS).nin(FINAL_STATUSES)), update);
+        }
+        return bulk.execute();
+    }
+
+    /**
+     * Caches the endings as stored, read back after the write so a poller never sees a status ahead of the
+     * database.
+     */
+    private void cachePersisted(List<Event> events) {
+        var query = Query.query(Criteria.where(ID).in(events.stream().map(Event::getId).toList()));
+        query.fields().exclude(PAYLOAD);
+        mongoTemplate.find(query, Event.class).forEach(sagaStatusCache::put);
+    }
+
+    /**
+     * Maps the id of every saga document that exists to the number of history entries it holds.
+     */
+    private Map<String, Integer> storedHistorySizes(List<Event> events) {
+        var query = Query.query(Criteria.where(ID).in(events.stream().map(Event::getId).toList()));
+        query.fields().include(ID).include(EVENT_HISTORY);
+        var sizes = new HashMap<String, Integer>();
+        for (var stored : mongoTemplate.find(query, Event.class)) {
+            sizes.put(stored.getId(), stored.getEventHistory() == null ? 0 : stored.getEventHistory().size());
+        }
+        return sizes;
+    }
+
+    /**
+     * Returns the endings that hit a duplicate key because their document was written meanwhile.
+     */
+    private List<Event> insertEndings(List<Event> events) {
+        var documents = new ArrayList<Document>(events.size());
+        for (var event : events) {
+            var document = new Document();
+            mongoTemplate.getConverter().write(event, document);
+            documents.add(document);
+        }
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(Event.class))
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+            return List.of();
+        } catch (MongoBulkWriteException e) {
+            var raced = new ArrayList<Event>();
+            for (var error : e.getWriteErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                raced.add(events.get(error.getIndex()));
+            }
+            return raced;
+        }
+    }
+
+    private static List<History> unstoredHistory(Event event, int storedEntries) {
+        var history = event.getEventHistory();
+        if (ObjectUtils.isEmpty(history) || storedEntries >= history.size()) {
+            return List.of();
+        }
+        return history.subList(storedEntries, history.size());
+    }
+
+    private void addIfPresent(Query query, String field, String value) {
+        if (!ObjectUtils.isEmpty(value)) {
+            query.addCriteria(Criteria.where(field).is(value));
+        }
+    }
 }
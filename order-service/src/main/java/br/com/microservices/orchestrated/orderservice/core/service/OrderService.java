@@ -1,19 +1,39 @@
 package br.com.microservices.orchestrated.orderservice.core.service;
 
-import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.config.exception.ValidationException;
 import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.Outbox;
+import br.com.microservices.orchestrated.orderservice.core.dto.BulkOrderItemDTO;
+import br.com.microservices.orchestrated.orderservice.core.dto.BulkOrderResponseDTO;
+import br.com.microservices.orchestrated.orderservice.core.dto.OrderReplyDTO;
 import br.com.microservices.orchestrated.orderservice.core.dto.OrderRequestDTO;
-import br.com.microservices.orchestrated.orderservice.core.producer.SagaProducer;
+import br.com.microservices.orchestrated.orderservice.core.dto.SagaCompletionDTO;
+import br.com.microservices.orchestrated.orderservice.core.outbox.OutboxRelay;
 import br.com.microservices.orchestrated.orderservice.core.repository.OrderRepository;
-import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
+import br.com.microservices.orchestrated.orderservice.core.stream.SagaReplyCorrelator;
+import br.com.microservices.orchestrated.orderservice.core.tracing.Tracer;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.model.InsertManyOptions;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
+import reactor.core.publisher.Mono;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
@@ -21,37 +41,140 @@ public class OrderService {
 
     private static final String TRANSACTION_ID_PATTERN = "%s_%s";
 
-    private final EventService eventService;
-    private final SagaProducer producer;
-    private final JsonUtil jsonUtil;
     private final OrderRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final WriteConcern orderWriteConcern;
+    private final Tracer tracer;
+    private final OutboxRelay outboxRelay;
+    private final SagaReplyCorrelator sagaReplyCorrelator;
+    private final int bulkMaxSize;
 
-    public OrderService(EventService eventService, SagaProducer producer, JsonUtil jsonUtil, OrderRepository repository) {
-        this.eventService = eventService;
-        this.producer = producer;
-        this.jsonUtil = jsonUtil;
+    public OrderService(OrderRepository repository, MongoTemplate mongoTemplate,
+                        ReactiveMongoTemplate reactiveMongoTemplate, WriteConcern orderWriteConcern, Tracer tracer, OutboxRelay outboxRelay, SagaReplyCorrelator sagaReplyCorrelator,
+                        @Value("${saga.intake.bulk-max-size}") int bulkMaxSize) {
         this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.orderWriteConcern = orderWriteConcern;
+        this.tracer = tracer;
+        this.outboxRelay = outboxRelay;
+        this.sagaReplyCorrelator = sagaReplyCorrelator;
+        this.bulkMaxSize = bulkMaxSize;
+    }
+
+    /**
+     * Non-blocking intake: completes once the order and its outbox entry are stored with the order write concern,
+     * without holding a thread while the insert is in flight. The span only covers building the order, since the
+     * tracer's current span is thread-bound and the insert completes on a driver thread.
+     */
+    public Mono<Order> acceptOrderReactive(OrderRequestDTO orderRequest) {
+        Order order;
+        try (var span = tracer.startSpan("acceptOrderReactive")) {
+            order = newOrder(orderRequest, Instant.now(), span.getContext().toTraceparent());
+        }
+        return reactiveMongoTemplate.insert(order).doOnSuccess(inserted -> outboxRelay.wakeUp());
     }
 
     public Order createOrder(OrderRequestDTO orderRequest) {
-        var order = new Order();
-        order.setOrderProducts(orderRequest.getOrderProducts());
-        order.setCreatedAt(LocalDateTime.now());
-        order.setTransactionId(String.format(TRANSACTION_ID_PATTERN, Instant.now().toEpochMilli(), UUID.randomUUID()));
+        try (var span = tracer.startSpan("createOrder")) {
+            var order = newOrder(orderRequest, Instant.now(), span.getContext().toTraceparent());
+            repository.insert(order);
+            outboxRelay.wakeUp();
+            return order;
+        }
+    }
 
-        repository.save(order);
-        producer.sendEvent(jsonUtil.toJson(createPayload(order)));
-        return order;
+    public CompletableFuture<OrderReplyDTO> createOrderAndWait(OrderRequestDTO orderRequest) {
+        try (var span = tracer.startSpan("createOrderAndWait")) {
+            var order = newOrder(orderRequest, Instant.now(), span.getContext().toTraceparent());
+            var completion = sagaReplyCorrelator.register(order.getTransactionId());
+            try {
+                repository.insert(order);
+            } catch (RuntimeException e) {
+                sagaReplyCorrelator.cancel(order.getTransactionId());
+                throw e;
+            }
+            outboxRelay.wakeUp();
+            return completion.thenApply(event -> new OrderReplyDTO(order.getId(), order.getTransactionId(),
+                    event == null ? null : SagaCompletionDTO.from(event)));
+        }
     }
 
-    private Event createPayload(Order order) {
-        var event = new Event();
-        event.setOrderId(order.getId());
-        event.setTransactionId(order.getTransactionId());
-        event.setPayload(order);
-        event.setCreatedAt(LocalDateTime.now());
+    public BulkOrderResponseDTO createOrders(List<OrderRequestDTO> orderRequests) {
+        if (ObjectUtils.isEmpty(orderRequests)) {
+            throw new ValidationException("At least one order must be informed.");
+        }
+        if (orderRequests.size() > bulkMaxSize) {
+            throw new ValidationException("At most %d orders can be created per request.".formatted(bulkMaxSize));
+        }
+        try (var span = tracer.startSpan("createOrders")) {
+            var now = Instant.now();
+            var traceparent = span.getContext().toTraceparent();
+            var items = new BulkOrderItemDTO[orderRequests.size()];
+            var orders = new ArrayList<Order>(orderRequests.size());
+            var positions = new ArrayList<Integer>(orderRequests.size());
+            for (int i = 0; i < orderRequests.size(); i++) {
+                var orderRequest = orderRequests.get(i);
+                if (orderRequest == null || ObjectUtils.isEmpty(orderRequest.getOrderProducts())) {
+                    items[i] = BulkOrderItemDTO.rejected(i, "Order must have at least one product.");
+                    continue;
+                }
+                var order = newOrder(orderRequest, now, traceparent);
+                order.setId(new ObjectId().toHexString());
+                orders.add(order);
+                positions.add(i);
+            }
 
-        eventService.save(event);
-        return event;
+            var errors = insertUnordered(orders);
+            for (int j = 0; j < orders.size(); j++) {
+                var index = positions.get(j);
+                var order = orders.get(j);
+                var error = errors.get(j);
+                items[index] = error == null
+                        ? BulkOrderItemDTO.accepted(index, order.getId(), order.getTransactionId())
+                        : BulkOrderItemDTO.rejected(index, error);
+            }
+            if (errors.size() < orders.size()) {
+                outboxRelay.wakeUp();
+            }
+            var accepted = (int) Arrays.stream(items).filter(item -> item.error() == null).count();
+            return new BulkOrderResponseDTO(accepted, items.length - accepted, List.of(items));
+        }
+    }
+
+    private Map<Integer, String> insertUnordered(List<Order> orders) {
+        var errors = new HashMap<Integer, String>();
+        if (orders.isEmpty()) {
+            return errors;
+        }
+        var documents = new ArrayList<Document>(orders.size());
+        for (var order : orders) {
+            var document = new Document();
+            mongoTemplate.getConverter().write(order, document);
+            documents.add(document);
+        }
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class))
+                    .withWriteConcern(orderWriteConcern)
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            e.getWriteErrors().forEach(error -> errors.put(error.getIndex(), error.getMessage()));
+            log.warn("{} of {} orders were not inserted", errors.size(), orders.size());
+        }
+        return errors;
+    }
+
+    private Order newOrder(OrderRequestDTO orderRequest, Instant now, String traceparent) {
+        var order = new Order();
+        order.setOrderProducts(orderRequest.getOrderProducts());
+        order.setCreatedAt(LocalDateTime.now());
+        order.setTransactionId(String.format(TRANSACTION_ID_PATTERN, now.toEpochMilli(), UUID.randomUUID()));
+        order.setOutbox(Outbox.builder()
+                .status(Outbox.PENDING)
+                .enqueuedAt(now)
+                .traceparent(traceparent)
+                .build());
+        return order;
     }
 }
@@ -0,0 +1,237 @@
+package br.com.microservices.orchestrated.orderservice.core.stream;
+
+import br.com.microservices.orchestrated.orderservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.orderservice.config.thread.VirtualThreads;
+import br.com.microservices.orchestrated.orderservice.core.cache.SagaStatusCache;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.dto.SagaCompletionDTO;
+import br.com.microservices.orchestrated.orderservice.core.metrics.StreamStats;
+import br.com.microservices.orchestrated.orderservice.core.service.EventService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes the final saga status to SSE subscribers. A subscription either waits for one transactionId and
+ * completes after its event, or follows every completion matching a status/source filter. Emitters are held
+ * asynchronously, so open subscriptions cost no request thread, and the notify-ending consumer only enqueues
+ * the writes: a slow client stalls a dispatch task, never the Kafka listener.
+ * <p>
+ * Completions are published from the broadcast listener, which can run before the notify-ending handler has
+ * stored the final status. They are kept for recent-window-ms so a subscription arriving in between still
+ * finds them; older ones are looked up in Mongo on a dispatch thread. Whoever takes an emitter out of the
+ * waiting set, publish or subscribe, is the one that sends to it.
+ */
+@Slf4j
+@Component
+public class SagaCompletionHub {
+
+    private static final String COMPLETION_EVENT = "saga-completion";
+    private static final String DISPATCH_THREAD_PREFIX = "saga-stream-";
+
+    private final Map<String, Set<SseEmitter>> byTransactionId = new ConcurrentHashMap<>();
+    private final Map<String, RecentCompletion> recent = new ConcurrentHashMap<>();
+    private final Queue<RecentCompletion> recentOrder = new ConcurrentLinkedQueue<>();
+    private final Set<FirehoseSubscription> firehose = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final EventService eventService;
+    private final ExecutorService dispatchExecutor;
+    private final long timeoutMs;
+    private final int maxSubscriptions;
+    private final long recentWindowMs;
+
+    public SagaCompletionHub(EventService eventService,
+                             @Value("${spring.threads.virtual.enabled}") boolean virtualThreadsEnabled,
+                             @Value("${saga.stream.dispatch-threads}") int dispatchThreads,
+                             @Value("${saga.stream.dispatch-queue-capacity}") int dispatchQueueCapacity,
+                             @Value("${saga.stream.timeout-ms}") long timeoutMs,
+                             @Value("${saga.stream.max-subscriptions}") int maxSubscriptions,
+                             @Value("${saga.stream.recent-window-ms}") long recentWindowMs) {
+        this.eventService = eventService;
+        this.dispatchExecutor = virtualThreadsEnabled
+                ? VirtualThreads.newExecutor(DISPATCH_THREAD_PREFIX)
+                : new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(dispatchQueueCapacity), new CustomizableThreadFactory(DISPATCH_THREAD_PREFIX));
+        this.timeoutMs = timeoutMs;
+        this.maxSubscriptions = maxSubscriptions;
+        this.recentWindowMs = recentWindowMs;
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatchExecutor.shutdownNow();
+        byTransactionId.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        firehose.forEach(subscription -> subscription.emitter().complete());
+    }
+
+    public SseEmitter subscribe(String transactionId) {
+        var emitter = newEmitter();
+        byTransactionId.compute(transactionId, (key, emitters) -> {
+            var waiting = emitters == null ? ConcurrentHashMap.<SseEmitter>newKeySet() : emitters;
+            waiting.add(emitter);
+            return waiting;
+        });
+        emitter.onCompletion(() -> {
+            release(transactionId, emitter);
+            open.decrementAndGet();
+        });
+        var completed = recent.get(transactionId);
+        if (completed != null) {
+            if (release(transactionId, emitter)) {
+                dispatch(emitter, completed.completion(), true);
+            }
+        } else {
+            completeIfAlreadyFinished(transactionId, emitter);
+        }
+        return emitter;
+    }
+
+    public SseEmitter subscribeAll(String status, String source) {
+        var emitter = newEmitter();
+        var subscription = new FirehoseSubscription(emitter, status, source);
+        firehose.add(subscription);
+        emitter.onCompletion(() -> {
+            firehose.remove(subscription);
+            open.decrementAndGet();
+        });
+        return emitter;
+    }
+
+    public void publish(Event event) {
+        published.incrementAndGet();
+        var completion = SagaCompletionDTO.from(event);
+        if (event.getTransactionId() != null) {
+            remember(completion);
+        }
+        var waiting = event.getTransactionId() == null ? null : byTransactionId.remove(event.getTransactionId());
+        if (waiting != null) {
+            waiting.forEach(emitter -> dispatch(emitter, completion, true));
+        }
+        for (var subscription : firehose) {
+            if (subscription.matches(completion)) {
+                dispatch(subscription.emitter(), completion, false);
+            }
+        }
+    }
+
+    public StreamStats stats() {
+        var waiting = byTransactionId.values().stream().mapToInt(Set::size).sum();
+        return new StreamStats(waiting, firehose.size(), published.get(), delivered.get(), dropped.get());
+    }
+
+    /**
+     * Takes the emitter out of the transaction's waiting set, returning whether it was still there.
+     */
+    private boolean release(String transactionId, SseEmitter emitter) {
+        var released = new AtomicBoolean();
+        byTransactionId.computeIfPresent(transactionId, (key, emitters) -> {
+            released.set(emitters.remove(emitter));
+            return emitters.isEmpty() ? null : emitters;
+        });
+        return released.get();
+    }
+
+    private void remember(SagaCompletionDTO completion) {
+        var now = System.currentTimeMillis();
+        var completed = new RecentCompletion(completion, now);
+        recent.put(completion.transactionId(), completed);
+        recentOrder.add(completed);
+        for (var oldest = recentOrder.peek(); oldest != null && now - oldest.publishedAt() > recentWindowMs;
+             oldest = recentOrder.peek()) {
+            if (recentOrder.remove(oldest)) {
+                recent.remove(oldest.completion().transactionId(), oldest);
+            }
+        }
+    }
+
+    /**
+     * Looks the saga up on a dispatch thread rather than the request thread that is opening the stream.
+     */
+    private void completeIfAlreadyFinished(String transactionId, SseEmitter emitter) {
+        try {
+            dispatchExecutor.execute(() -> {
+                Event event;
+                try {
+                    event = eventService.findByTransactionId(transactionId);
+                } catch (ValidationException e) {
+                    return;
+                }
+                if (SagaStatusCache.isFinal(event.getStatus()) && release(transactionId, emitter)) {
+                    send(emitter, SagaCompletionDTO.from(event), true);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dropped.incrementAndGet();
+            emitter.completeWithError(e);
+        }
+    }
+
+    private SseEmitter newEmitter() {
+        if (open.incrementAndGet() > maxSubscriptions) {
+            open.decrementAndGet();
+            throw new RejectedExecutionException("Too many open saga subscriptions");
+        }
+        var emitter = new SseEmitter(timeoutMs);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> emitter.complete());
+        return emitter;
+    }
+
+    private void dispatch(SseEmitter emitter, SagaCompletionDTO completion, boolean last) {
+        try {
+            dispatchExecutor.execute(() -> send(emitter, completion, last));
+        } catch (RejectedExecutionException e) {
+            dropped.incrementAndGet();
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void send(SseEmitter emitter, SagaCompletionDTO completion, boolean last) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(COMPLETION_EVENT)
+                    .id(completion.transactionId())
+                    .data(completion));
+            delivered.incrementAndGet();
+            if (last) {
+                emitter.complete();
+            }
+        } catch (Exception e) {
+            dropped.incrementAndGet();
+            log.debug("Dropping saga subscriber for transaction {}", completion.transactionId(), e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private record RecentCompletion(SagaCompletionDTO completion, long publishedAt) {
+    }
+
+    private record FirehoseSubscription(SseEmitter emitter, String status, String source) {
+
+        boolean matches(SagaCompletionDTO completion) {
+            return (ObjectUtils.isEmpty(status) || status.equals(completion.status()))
+                    && (ObjectUtils.isEmpty(source) || source.equals(completion.source()));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.microservices.orchestrated.orderservice.core.stream;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.metrics.ReplyWaitStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parks wait=true order requests on a future keyed by transactionId until the notify-ending event arrives.
+ * Waiters are spread over a power-of-two number of stripes, each a plain map behind its own monitor with a
+ * fixed share of the capacity, so registration and completion only contend within one stripe. A waiter that
+ * is not completed in time is completed with null and the caller falls back to 202.
+ */
+@Component
+public class SagaReplyCorrelator {
+
+    private final Stripe[] stripes;
+    private final int stripeCapacity;
+    private final long timeoutMs;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public SagaReplyCorrelator(@Value("${saga.reply-wait.stripes}") int stripeCount,
+                               @Value("${saga.reply-wait.max-waiters}") int maxWaiters,
+                               @Value("${saga.reply-wait.timeout-ms}") long timeoutMs) {
+        var size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeCapacity = Math.max(1, (maxWaiters + size - 1) / size);
+        this.timeoutMs = timeoutMs;
+    }
+
+    public CompletableFuture<Event> register(String transactionId) {
+        var future = new CompletableFuture<Event>();
+        var stripe = stripeOf(transactionId);
+        synchronized (stripe) {
+            if (stripe.waiters.size() >= stripeCapacity) {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException("Too many requests waiting for saga results");
+            }
+            stripe.waiters.put(transactionId, future);
+        }
+        waiting.incrementAndGet();
+        future.completeOnTimeout(null, timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((event, error) -> {
+                    if (remove(transactionId, future) && event == null && error == null) {
+                        timedOut.incrementAndGet();
+                    }
+                });
+        return future;
+    }
+
+    public void cancel(String transactionId) {
+        var stripe = stripeOf(transactionId);
+        CompletableFuture<Event> future;
+        synchronized (stripe) {
+            future = stripe.waiters.get(transactionId);
+        }
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    public boolean complete(Event event) {
+        if (event.getTransactionId() == null || waiting.get() == 0) {
+            return false;
+        }
+        var stripe = stripeOf(event.getTransactionId());
+        CompletableFuture<Event> future;
+        synchronized (stripe) {
+            future = stripe.waiters.get(event.getTransactionId());
+        }
+        if (future != null && future.complete(event)) {
+            completed.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    public ReplyWaitStats stats() {
+        return new ReplyWaitStats(waiting.get(), completed.get(), timedOut.get(), rejected.get());
+    }
+
+    private boolean remove(String transactionId, CompletableFuture<Event> future) {
+        var stripe = stripeOf(transactionId);
+        synchronized (stripe) {
+            if (!stripe.waiters.remove(transactionId, future)) {
+                return false;
+            }
+        }
+        waiting.decrementAndGet();
+        return true;
+    }
+
+    private Stripe stripeOf(String transactionId) {
+        var hash = transactionId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+        private final Map<String, CompletableFuture<Event>> waiters = new HashMap<>();
+    }
+}
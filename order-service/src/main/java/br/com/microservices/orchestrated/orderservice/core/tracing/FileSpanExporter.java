@@ -0,0 +1,86 @@
+package br.com.microservices.orchestrated.orderservice.core.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends spans as JSON lines from a background thread so the traced code never waits on disk.
+ * Spans are dropped (and counted) when the queue is full.
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter, AutoCloseable {
+
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<SpanData> queue;
+    private final BufferedWriter writer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public FileSpanExporter(Path path, int queueCapacity, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open span file " + path, e);
+        }
+        this.worker = new Thread(this::drain, "span-file-exporter");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void export(SpanData span) {
+        if (!queue.offer(span)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() throws Exception {
+        running = false;
+        worker.join();
+        writer.close();
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                var span = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (span != null) {
+                    writer.write(objectMapper.writeValueAsString(span));
+                    writer.newLine();
+                }
+                if (queue.isEmpty()) {
+                    writer.flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error writing span to file", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.orderservice.core.tracing;
+
+public record SpanData(String traceId,
+                       String spanId,
+                       String parentSpanId,
+                       String service,
+                       String name,
+                       long startEpochMicros,
+                       long durationMicros,
+                       String error) {
+}
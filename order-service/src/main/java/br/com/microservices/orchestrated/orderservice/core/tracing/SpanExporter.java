@@ -0,0 +1,12 @@
+package br.com.microservices.orchestrated.orderservice.core.tracing;
+
+import java.util.List;
+
+public interface SpanExporter {
+
+    void export(SpanData span);
+
+    default List<SpanData> recent(int limit) {
+        return List.of();
+    }
+}
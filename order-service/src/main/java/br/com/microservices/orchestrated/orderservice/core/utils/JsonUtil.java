@@ -1,29 +1,42 @@
 package br.com.microservices.orchestrated.orderservice.core.utils;
 
 import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
+/**
+ * JSON serde for saga messages straight to and from Kafka's byte[] values. Readers and writers are resolved
+ * once per type, and failures are thrown rather than turned into empty payloads.
+ */
 @Component
-@AllArgsConstructor
 public class JsonUtil {
 
-    private final ObjectMapper objectMapper;
+    private final ObjectWriter eventWriter;
+    private final ObjectReader eventReader;
+
+    public JsonUtil(ObjectMapper objectMapper) {
+        this.eventWriter = objectMapper.writerFor(Event.class);
+        this.eventReader = objectMapper.readerFor(Event.class);
+    }
 
-    public String toJson(Object object) {
+    public byte[] toJson(Event event) {
         try {
-            return objectMapper.writeValueAsString(object);
-        } catch (Exception e) {
-            return "";
+            return eventWriter.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize event " + event.getId(), e);
         }
     }
 
-    public Event toEvent(String json) {
+    public Event toEvent(byte[] json) {
         try {
-            return objectMapper.readValue(json, Event.class);
-        } catch (Exception e) {
-            return null;
+            return eventReader.readValue(json);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not deserialize event", e);
         }
     }
 }
@@ -0,0 +1,117 @@
+package br.com.microservices.orchestrated.paymentservice.config.thread;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records per second through the listener threads of a JDBC-bound service, on platform threads and on
+ * virtual threads, with the database round trip guarded the way older PostgreSQL drivers did it (a monitor)
+ * and the way the required driver does it (a ReentrantLock). Each consumer owns its connection, so nothing
+ * contends: any slowdown is carriers pinned while a virtual thread blocks inside the monitor. A sleep stands in
+ * for the socket wait, since no database runs here. Carriers default to one per core; change them with
+ * -jvmArgs -Djdk.virtualThreadScheduler.parallelism=N.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@OperationsPerInvocation(VirtualThreadPinningBenchmark.RECORDS)
+public class VirtualThreadPinningBenchmark {
+
+    static final int RECORDS = 60;
+    private static final int CONSUMERS = 3;
+    private static final int ROUND_TRIPS_PER_RECORD = 2;
+    private static final long ROUND_TRIP_MICROS = 500;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"monitor", "reentrantLock"})
+    private String driverLock;
+
+    private ExecutorService executor;
+    private Connection[] connections;
+
+    @Setup(Level.Trial)
+    public void start() {
+        executor = "virtual".equals(threads)
+                ? VirtualThreads.newExecutor("listener-")
+                : Executors.newFixedThreadPool(CONSUMERS);
+        connections = new Connection[CONSUMERS];
+        for (int i = 0; i < CONSUMERS; i++) {
+            connections[i] = "monitor".equals(driverLock) ? new MonitorConnection() : new LockConnection();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void consumeRecords() throws Exception {
+        var consumers = new ArrayList<Future<?>>(CONSUMERS);
+        for (var connection : connections) {
+            consumers.add(executor.submit(() -> {
+                for (int record = 0; record < RECORDS / CONSUMERS; record++) {
+                    for (int trip = 0; trip < ROUND_TRIPS_PER_RECORD; trip++) {
+                        connection.execute();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (var consumer : consumers) {
+            consumer.get();
+        }
+    }
+
+    private interface Connection {
+
+        void execute() throws InterruptedException;
+    }
+
+    private static final class MonitorConnection implements Connection {
+
+        @Override
+        public synchronized void execute() throws InterruptedException {
+            TimeUnit.MICROSECONDS.sleep(ROUND_TRIP_MICROS);
+        }
+    }
+
+    private static final class LockConnection implements Connection {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        @Override
+        public void execute() throws InterruptedException {
+            lock.lock();
+            try {
+                TimeUnit.MICROSECONDS.sleep(ROUND_TRIP_MICROS);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
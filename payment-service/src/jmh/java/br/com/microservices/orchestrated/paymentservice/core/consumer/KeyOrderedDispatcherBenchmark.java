@@ -0,0 +1,144 @@
+package br.com.microservices.orchestrated.paymentservice.core.consumer;
+
+import br.com.microservices.orchestrated.paymentservice.core.tracing.Tracer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per second through the payment listeners: the record listeners, one record at a time on each of
+ * the partition-capped consumer threads, against the virtual-thread mode, where each consumer hands its
+ * polled batch to {@link KeyOrderedDispatcher}. Each record makes four repository round trips like
+ * realizePayment, and each trip holds one of the DB_POOL_SIZE connections for 0.5 ms. No database runs here,
+ * so a semaphore stands in for the pool and a sleep for the socket wait. Every record checks that no other
+ * record of its key is running and that none with a later offset ran before it, so a run that breaks per-key
+ * order fails instead of reporting a score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@OperationsPerInvocation(KeyOrderedDispatcherBenchmark.CONSUMERS * KeyOrderedDispatcherBenchmark.BATCH_SIZE)
+public class KeyOrderedDispatcherBenchmark {
+
+    static final int CONSUMERS = 3;
+    static final int BATCH_SIZE = 300;
+    private static final int POOL_SIZE = 10;
+    private static final int ROUND_TRIPS_PER_RECORD = 4;
+    private static final long ROUND_TRIP_MICROS = 500;
+
+    @Param({"recordListener", "keyOrderedVirtual"})
+    private String mode;
+
+    @Param({"10", "300"})
+    private int keysPerBatch;
+
+    private ExecutorService consumers;
+    private KeyOrderedDispatcher dispatcher;
+    private Semaphore connectionPool;
+    private List<List<ConsumerRecord<String, byte[]>>> batches;
+    private final Map<String, Long> lastOffsets = new ConcurrentHashMap<>();
+    private final Map<String, Long> running = new ConcurrentHashMap<>();
+    private long nextOffset;
+
+    @Setup(Level.Trial)
+    public void start() {
+        consumers = Executors.newFixedThreadPool(CONSUMERS);
+        connectionPool = new Semaphore(POOL_SIZE);
+        var tracer = new Tracer(span -> { });
+        new DirectFieldAccessor(tracer).setPropertyValue("serviceName", "payment-service");
+        dispatcher = new KeyOrderedDispatcher((record, exception) -> {
+            throw new IllegalStateException(exception);
+        }, tracer);
+        var fields = new DirectFieldAccessor(dispatcher);
+        fields.setPropertyValue("retryBackoffMs", 0L);
+        fields.setPropertyValue("retryMaxAttempts", 1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        consumers.shutdownNow();
+        dispatcher.stop();
+    }
+
+    @Setup(Level.Invocation)
+    public void poll() {
+        batches = new ArrayList<>(CONSUMERS);
+        for (int partition = 0; partition < CONSUMERS; partition++) {
+            var batch = new ArrayList<ConsumerRecord<String, byte[]>>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                var key = "order-" + partition + "-" + (i % keysPerBatch);
+                batch.add(new ConsumerRecord<>("payment-success", partition, nextOffset++, key, new byte[0]));
+            }
+            batches.add(batch);
+        }
+    }
+
+    @Benchmark
+    public void consumeBatches() throws Exception {
+        var polls = new ArrayList<Future<?>>(CONSUMERS);
+        for (var batch : batches) {
+            polls.add(consumers.submit(() -> {
+                if ("keyOrderedVirtual".equals(mode)) {
+                    dispatcher.dispatch(batch, this::realizePayment);
+                } else {
+                    batch.forEach(this::realizePayment);
+                }
+            }));
+        }
+        for (var poll : polls) {
+            poll.get();
+        }
+    }
+
+    private void realizePayment(ConsumerRecord<String, byte[]> record) {
+        var concurrent = running.putIfAbsent(record.key(), record.offset());
+        if (concurrent != null) {
+            throw new IllegalStateException("Record " + record.offset() + " of " + record.key() + " ran with " + concurrent);
+        }
+        var previous = lastOffsets.put(record.key(), record.offset());
+        if (previous != null && previous > record.offset()) {
+            throw new IllegalStateException("Record " + record.offset() + " of " + record.key() + " ran after " + previous);
+        }
+        try {
+            for (int trip = 0; trip < ROUND_TRIPS_PER_RECORD; trip++) {
+                connectionPool.acquire();
+                try {
+                    TimeUnit.MICROSECONDS.sleep(ROUND_TRIP_MICROS);
+                } finally {
+                    connectionPool.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            running.remove(record.key());
+        }
+    }
+}
@@ -1,20 +1,36 @@
 package br.com.microservices.orchestrated.paymentservice.config.kafka;
 
+import br.com.microservices.orchestrated.paymentservice.core.codec.EventCodec;
+import br.com.microservices.orchestrated.paymentservice.core.producer.ProducerPipeline;
+import br.com.microservices.orchestrated.paymentservice.core.tracing.TracingRecordInterceptor;
+import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @EnableKafka
 @Configuration
@@ -39,12 +55,57 @@ public class KafkaConfig {
     @Value("${spring.kafka.topic.orchestrator}")
     private String orchestrator;
 
-    private static final Integer REPLICA_COUNT = 1;
+    @Value("${spring.kafka.replicas}")
+    private Integer replicaCount;
 
-    private static final Integer PARTITION_COUNT = 1;
+    @Value("${spring.kafka.partitions.default}")
+    private Integer defaultPartitionCount;
+
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer listenerConcurrency;
+
+    @Value("${saga.codec.binary-topics}")
+    private List<String> binaryTopics;
+
+    @Value("${saga.producer.max-in-flight-records}")
+    private Integer maxInFlightRecords;
+
+    @Value("${saga.producer.max-in-flight-bytes}")
+    private Integer maxInFlightBytes;
+
+    @Value("${saga.producer.max-block-ms}")
+    private Long producerMaxBlockMs;
+
+    @Value("${saga.producer.delivery-timeout-ms}")
+    private Integer producerDeliveryTimeoutMs;
+
+    @Value("${spring.kafka.listener.retry.backoff-ms}")
+    private Long listenerRetryBackoffMs;
+
+    @Value("${spring.kafka.listener.retry.max-attempts}")
+    private Long listenerRetryMaxAttempts;
+
+    @Value("${saga.producer.profile.linger-ms}")
+    private Integer defaultLingerMs;
+
+    @Value("${saga.producer.profile.batch-size}")
+    private Integer defaultBatchSize;
+
+    @Value("${saga.producer.profile.compression-type}")
+    private String defaultCompressionType;
+
+    @Value("${saga.producer.profile.idempotence}")
+    private Boolean defaultIdempotence;
+
+    private static final String PARTITIONS_PROPERTY_PREFIX = "spring.kafka.partitions.";
+    private static final String PRODUCER_PROFILE_PROPERTY_PREFIX = "saga.producer.topics.";
+    private static final String DEAD_LETTER_SUFFIX = ".DLT";
+    private static final String DEAD_LETTER_PROFILE = "dead-letter";
+
+    private final Environment environment;
 
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, byte[]> consumerFactory() {
         return new DefaultKafkaConsumerFactory<>(consumerProps());
     }
 
@@ -54,38 +115,102 @@ public class KafkaConfig {
         propsConsumer.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         propsConsumer.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
         propsConsumer.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        propsConsumer.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        propsConsumer.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
 
         return propsConsumer;
     }
 
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerProps());
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory(
+            ConsumerFactory<String, byte[]> consumerFactory, TracingRecordInterceptor tracingRecordInterceptor,
+            DefaultErrorHandler kafkaErrorHandler) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, byte[]>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(listenerConcurrency);
+        factory.setRecordInterceptor(tracingRecordInterceptor);
+        factory.setCommonErrorHandler(kafkaErrorHandler);
+        return factory;
+    }
+
+    /**
+     * Batch listeners for the virtual-thread mode: each polled batch goes to the KeyOrderedDispatcher, which
+     * retries and dead-letters its records itself and returns once all of them are done.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> keyOrderedKafkaListenerContainerFactory(
+            ConsumerFactory<String, byte[]> consumerFactory, DefaultErrorHandler kafkaErrorHandler) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, byte[]>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(listenerConcurrency);
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(kafkaErrorHandler);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+
+    /**
+     * Retries a failed record in place with a fixed backoff, then parks it on its dead-letter topic, so the
+     * committed offset only moves past a record once it was either handled or dead-lettered.
+     */
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(DeadLetterPublishingRecoverer deadLetterRecoverer) {
+        return new DefaultErrorHandler(deadLetterRecoverer,
+                new FixedBackOff(listenerRetryBackoffMs, listenerRetryMaxAttempts - 1));
+    }
+
+    @Bean
+    public DeadLetterPublishingRecoverer deadLetterRecoverer() {
+        var deadLetterTemplate = new KafkaTemplate<>(producerFactory(producerProfile(DEAD_LETTER_PROFILE)));
+        return new DeadLetterPublishingRecoverer(deadLetterTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, -1));
+    }
+
+    @Bean
+    public ProducerPipeline producerPipeline(MeterRegistry meterRegistry) {
+        return new ProducerPipeline(this::producerProfile, this::producerFactory, maxInFlightRecords,
+                maxInFlightBytes, producerMaxBlockMs, meterRegistry);
+    }
+
+    private ProducerProfile producerProfile(String topicName) {
+        var prefix = PRODUCER_PROFILE_PROPERTY_PREFIX + topicName + ".";
+        return new ProducerProfile(
+                environment.getProperty(prefix + "linger-ms", Integer.class, defaultLingerMs),
+                environment.getProperty(prefix + "batch-size", Integer.class, defaultBatchSize),
+                environment.getProperty(prefix + "compression-type", defaultCompressionType),
+                environment.getProperty(prefix + "idempotence", Boolean.class, defaultIdempotence));
+    }
+
+    private ProducerFactory<String, byte[]> producerFactory(ProducerProfile profile) {
+        return new DefaultKafkaProducerFactory<>(profile.applyTo(producerProps()));
     }
 
     private Map<String, Object> producerProps() {
         var propsProducer = new HashMap<String, Object>();
         propsProducer.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         propsProducer.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        propsProducer.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        propsProducer.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        propsProducer.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, producerDeliveryTimeoutMs);
 
         return propsProducer;
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory){
-        return new KafkaTemplate<>(producerFactory());
+    public EventCodec eventCodec(JsonUtil jsonUtil) {
+        return new EventCodec(jsonUtil, Set.copyOf(binaryTopics));
     }
 
     private NewTopic buildTopics(String topicName) {
         return TopicBuilder
                 .name(topicName)
-                .replicas(REPLICA_COUNT)
-                .partitions(PARTITION_COUNT)
+                .replicas(replicaCount)
+                .partitions(partitionCount(topicName))
                 .build();
     }
 
+    private int partitionCount(String topicName) {
+        return environment.getProperty(PARTITIONS_PROPERTY_PREFIX + topicName, Integer.class, defaultPartitionCount);
+    }
+
     @Bean
     public NewTopic paymentSuccessTopic() {
         return buildTopics(this.paymentSuccessTopic);
@@ -0,0 +1,22 @@
+package br.com.microservices.orchestrated.paymentservice.config.thread;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual threads unmount from their carrier while blocked, except inside a {@code synchronized} block, where
+ * they pin it. The JDBC path here stays off monitors: PostgreSQL driver 42.6.0 and later guards query I/O with
+ * a ReentrantLock, which the build requires, and Hikari only synchronizes statement bookkeeping. Listener
+ * code must not hold a monitor across repository calls either, or each record being dispatched pins one of
+ * the few carriers (one per core). Concurrency against the database stays bounded by DB_POOL_SIZE in either
+ * mode. Run with -Djdk.tracePinnedThreads=short to log any pinning that creeps in.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static ExecutorService newExecutor(String threadNamePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+    }
+}
@@ -0,0 +1,358 @@
+package br.com.microservices.orchestrated.paymentservice.core.codec;
+
+import br.com.microservices.orchestrated.paymentservice.core.dto.ClaimCheck;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
+import br.com.microservices.orchestrated.paymentservice.core.dto.History;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Order;
+import br.com.microservices.orchestrated.paymentservice.core.dto.OrderProducts;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Product;
+import br.com.microservices.orchestrated.paymentservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Encodes saga events as JSON or in a compact binary schema, chosen per topic. A binary message starts with a
+ * zero byte, which JSON never does, followed by the schema version, so consumers read both formats while
+ * topics are migrated one at a time.
+ * <p>
+ * Each object starts with a varint bit mask whose lowest bit marks it as present and whose other bits mark
+ * its non-null fields, in declaration order. Sources and statuses are written as codes from tables shared by
+ * every service; values missing from a table travel as text after a zero code. Tables and field order may
+ * only be extended together with {@link #SCHEMA_VERSION}.
+ */
+public class EventCodec {
+
+    public static final byte BINARY_MAGIC = 0;
+    public static final byte SCHEMA_VERSION = 1;
+
+    private static final int HEADER_SIZE = 2;
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int PRESENT = 1;
+    private static final String[] SOURCES = {
+            "ORCHESTRATOR", "PRODUCT_VALIDATION_SERVICE", "PAYMENT_SERVICE", "INVENTORY_SERVICE"
+    };
+    private static final String[] STATUSES = {"SUCCESS", "ROLLBACK_PEDING", "FAIL"};
+
+    private final JsonUtil jsonUtil;
+    private final Set<String> binaryTopics;
+
+    public EventCodec(JsonUtil jsonUtil, Set<String> binaryTopics) {
+        this.jsonUtil = jsonUtil;
+        this.binaryTopics = binaryTopics;
+    }
+
+    public WireFormat formatOf(String topic) {
+        return binaryTopics.contains(topic) ? WireFormat.BINARY : WireFormat.JSON;
+    }
+
+    public static WireFormat detect(byte[] value) {
+        return value.length > 0 && value[0] == BINARY_MAGIC ? WireFormat.BINARY : WireFormat.JSON;
+    }
+
+    public byte[] encode(Event event, String topic) {
+        return encode(event, formatOf(topic));
+    }
+
+    public byte[] encode(Event event, WireFormat format) {
+        if (format == WireFormat.JSON) {
+            return jsonUtil.toJson(event);
+        }
+        var out = new BinaryOutput(INITIAL_CAPACITY);
+        out.writeByte(BINARY_MAGIC);
+        out.writeByte(SCHEMA_VERSION);
+        writeEvent(out, event);
+        return out.toByteArray();
+    }
+
+    public Event decode(byte[] value) {
+        if (detect(value) == WireFormat.JSON) {
+            return jsonUtil.toEvent(value);
+        }
+        if (value.length < HEADER_SIZE || value[1] != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary event schema version "
+                    + (value.length < HEADER_SIZE ? "none" : value[1]));
+        }
+        var event = readEvent(new BinaryInput(value, HEADER_SIZE));
+        if (event == null) {
+            throw new IllegalArgumentException("Binary event is empty");
+        }
+        return event;
+    }
+
+    private void writeEvent(BinaryOutput out, Event event) {
+        out.writeVarInt(mask(event.getId(), event.getTransactionId(), event.getOrderId(), event.getSource(),
+                event.getStatus(), event.getEventHistory(), event.getCreatedAt()));
+        if (event.getId() != null) {
+            out.writeString(event.getId());
+        }
+        if (event.getTransactionId() != null) {
+            out.writeString(event.getTransactionId());
+        }
+        if (event.getOrderId() != null) {
+            out.writeString(event.getOrderId());
+        }
+        if (event.getSource() != null) {
+            writeSymbol(out, event.getSource(), SOURCES);
+        }
+        if (event.getStatus() != null) {
+            writeSymbol(out, event.getStatus().name(), STATUSES);
+        }
+        if (event.getEventHistory() != null) {
+            out.writeVarInt(event.getEventHistory().size());
+            event.getEventHistory().forEach(history -> writeHistory(out, history));
+        }
+        if (event.getCreatedAt() != null) {
+            out.writeTimestamp(event.getCreatedAt());
+        }
+        writeOrder(out, event.getPayload());
+        writeClaimCheck(out, event.getClaimCheck());
+    }
+
+    private Event readEvent(BinaryInput in) {
+        var mask = in.readVarInt();
+        if (mask == 0) {
+            return null;
+        }
+        var event = new Event();
+        if (has(mask, 0)) {
+            event.setId(in.readString());
+        }
+        if (has(mask, 1)) {
+            event.setTransactionId(in.readString());
+        }
+        if (has(mask, 2)) {
+            event.setOrderId(in.readString());
+        }
+        if (has(mask, 3)) {
+            event.setSource(readSymbol(in, SOURCES));
+        }
+        if (has(mask, 4)) {
+            event.setStatus(ESagaStatus.valueOf(readSymbol(in, STATUSES)));
+        }
+        if (has(mask, 5)) {
+            var size = readSize(in);
+            var history = new ArrayList<History>(size);
+            for (int i = 0; i < size; i++) {
+                history.add(readHistory(in));
+            }
+            event.setEventHistory(history);
+        }
+        if (has(mask, 6)) {
+            event.setCreatedAt(in.readTimestamp());
+        }
+        event.setPayload(readOrder(in));
+        event.setClaimCheck(readClaimCheck(in));
+        return event;
+    }
+
+    private void writeOrder(BinaryOutput out, Order order) {
+        if (order == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(mask(order.getId(), order.getOrderProducts(), order.getCreatedAt(), order.getTransactionId()));
+        if (order.getId() != null) {
+            out.writeString(order.getId());
+        }
+        if (order.getOrderProducts() != null) {
+            out.writeVarInt(order.getOrderProducts().size());
+            order.getOrderProducts().forEach(products -> writeOrderProducts(out, products));
+        }
+        if (order.getCreatedAt() != null) {
+            out.writeTimestamp(order.getCreatedAt());
+        }
+        if (order.getTransactionId() != null) {
+            out.writeString(order.getTransactionId());
+        }
+        out.writeDouble(order.getTotalAmount());
+        out.writeSignedVarInt(order.getTotalItems());
+    }
+
+    private Order readOrder(BinaryInput in) {
+        var mask = in.readVarInt();
+        if (mask == 0) {
+            return null;
+        }
+        var order = new Order();
+        if (has(mask, 0)) {
+            order.setId(in.readString());
+        }
+        if (has(mask, 1)) {
+            var size = readSize(in);
+            var products = new ArrayList<OrderProducts>(size);
+            for (int i = 0; i < size; i++) {
+                products.add(readOrderProducts(in));
+            }
+            order.setOrderProducts(products);
+        }
+        if (has(mask, 2)) {
+            order.setCreatedAt(in.readTimestamp());
+        }
+        if (has(mask, 3)) {
+            order.setTransactionId(in.readString());
+        }
+        order.setTotalAmount(in.readDouble());
+        order.setTotalItems(in.readSignedVarInt());
+        return order;
+    }
+
+    private void writeOrderProducts(BinaryOutput out, OrderProducts products) {
+        if (products == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(PRESENT);
+        writeProduct(out, products.getProduct());
+        out.writeSignedVarInt(products.getQuantity());
+    }
+
+    private OrderProducts readOrderProducts(BinaryInput in) {
+        if (in.readVarInt() == 0) {
+            return null;
+        }
+        var products = new OrderProducts();
+        products.setProduct(readProduct(in));
+        products.setQuantity(in.readSignedVarInt());
+        return products;
+    }
+
+    private void writeProduct(BinaryOutput out, Product product) {
+        if (product == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(mask(product.getCode(), product.getUnitValue()));
+        if (product.getCode() != null) {
+            out.writeString(product.getCode());
+        }
+        out.writeString(String.valueOf(product.getUnitValue()));
+    }
+
+    private Product readProduct(BinaryInput in) {
+        var mask = in.readVarInt();
+        if (mask == 0) {
+            return null;
+        }
+        var product = new Product();
+        if (has(mask, 0)) {
+            product.setCode(in.readString());
+        }
+        if (has(mask, 1)) {
+            product.setUnitValue((int) Double.parseDouble(in.readString()));
+        }
+        return product;
+    }
+
+    private void writeHistory(BinaryOutput out, History history) {
+        if (history == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(mask(history.getSource(), history.getStatus(), history.getMessage(), history.getCreateAt()));
+        if (history.getSource() != null) {
+            writeSymbol(out, history.getSource(), SOURCES);
+        }
+        if (history.getStatus() != null) {
+            writeSymbol(out, history.getStatus().name(), STATUSES);
+        }
+        if (history.getMessage() != null) {
+            out.writeString(history.getMessage());
+        }
+        if (history.getCreateAt() != null) {
+            out.writeTimestamp(history.getCreateAt());
+        }
+    }
+
+    private History readHistory(BinaryInput in) {
+        var mask = in.readVarInt();
+        if (mask == 0) {
+            return null;
+        }
+        var history = new History();
+        if (has(mask, 0)) {
+            history.setSource(readSymbol(in, SOURCES));
+        }
+        if (has(mask, 1)) {
+            history.setStatus(ESagaStatus.valueOf(readSymbol(in, STATUSES)));
+        }
+        if (has(mask, 2)) {
+            history.setMessage(in.readString());
+        }
+        if (has(mask, 3)) {
+            history.setCreateAt(in.readTimestamp());
+        }
+        return history;
+    }
+
+    private void writeClaimCheck(BinaryOutput out, ClaimCheck claimCheck) {
+        if (claimCheck == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(mask(claimCheck.getHash()));
+        if (claimCheck.getHash() != null) {
+            out.writeString(claimCheck.getHash());
+        }
+        out.writeVarLong(claimCheck.getSize());
+    }
+
+    private ClaimCheck readClaimCheck(BinaryInput in) {
+        var mask = in.readVarInt();
+        if (mask == 0) {
+            return null;
+        }
+        var claimCheck = new ClaimCheck();
+        if (has(mask, 0)) {
+            claimCheck.setHash(in.readString());
+        }
+        claimCheck.setSize(in.readVarLong());
+        return claimCheck;
+    }
+
+    private static void writeSymbol(BinaryOutput out, String value, String[] table) {
+        for (int i = 0; i < table.length; i++) {
+            if (table[i].equals(value)) {
+                out.writeVarInt(i + 1);
+                return;
+            }
+        }
+        out.writeVarInt(0);
+        out.writeString(value);
+    }
+
+    private static String readSymbol(BinaryInput in, String[] table) {
+        var code = in.readVarInt();
+        if (code == 0) {
+            return in.readString();
+        }
+        if (code > table.length) {
+            throw new IllegalArgumentException("Unknown symbol code " + code);
+        }
+        return table[code - 1];
+    }
+
+    private static int readSize(BinaryInput in) {
+        var size = in.readVarInt();
+        if (size < 0 || size > in.remaining()) {
+            throw new IllegalArgumentException("Invalid list size " + size);
+        }
+        return size;
+    }
+
+    private static int mask(Object... fields) {
+        var mask = PRESENT;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                mask |= 2 << i;
+            }
+        }
+        return mask;
+    }
+
+    private static boolean has(int mask, int field) {
+        return (mask & (2 << field)) != 0;
+    }
+}
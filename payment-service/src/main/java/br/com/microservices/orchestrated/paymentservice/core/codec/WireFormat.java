@@ -0,0 +1,7 @@
+package br.com.microservices.orchestrated.paymentservice.core.codec;
+
+public enum WireFormat {
+
+    JSON,
+    BINARY
+}
@@ -1,40 +1,83 @@
 package br.com.microservices.orchestrated.paymentservice.core.consumer;
 
+import br.com.microservices.orchestrated.paymentservice.core.codec.EventCodec;
+import br.com.microservices.orchestrated.paymentservice.core.producer.KafkaProducer;
+import br.com.microservices.orchestrated.paymentservice.core.producer.ProducerPipeline;
 import br.com.microservices.orchestrated.paymentservice.core.service.PaymentService;
-import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class PaymentConsumer {
 
-    private final JsonUtil jsonUtil;
+    private final EventCodec eventCodec;
+    private final ProducerPipeline producerPipeline;
+    private final KafkaProducer kafkaProducer;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
     @Autowired
     private final PaymentService paymentService;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.payment-success}"
+            topics = "${spring.kafka.topic.payment-success}",
+            autoStartup = "#{!${spring.threads.virtual.enabled}}"
+    )
+    public void consumePaymentSuccessEvent(ConsumerRecord<String, byte[]> record){
+        handlePaymentSuccess(record);
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.payment-success}",
+            containerFactory = "keyOrderedKafkaListenerContainerFactory",
+            autoStartup = "${spring.threads.virtual.enabled}"
     )
-    public void consumePaymentSuccessEvent(String payload){
-        log.info("Receiving event {} from payment-success topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        paymentService.realizePayment(event);
+    public void consumePaymentSuccessEvents(List<ConsumerRecord<String, byte[]>> records){
+        keyOrderedDispatcher.dispatch(records, this::handlePaymentSuccess);
     }
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.payment-fail}"
+            topics = "${spring.kafka.topic.payment-fail}",
+            autoStartup = "#{!${spring.threads.virtual.enabled}}"
     )
-    public void consumePaymentFailEvent(String payload){
-        log.info("Receiving rollback event {} from payment-fail topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        paymentService.realizeRefound(event);
+    public void consumePaymentFailEvent(ConsumerRecord<String, byte[]> record){
+        handlePaymentFail(record);
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.payment-fail}",
+            containerFactory = "keyOrderedKafkaListenerContainerFactory",
+            autoStartup = "${spring.threads.virtual.enabled}"
+    )
+    public void consumePaymentFailEvents(List<ConsumerRecord<String, byte[]>> records){
+        keyOrderedDispatcher.dispatch(records, this::handlePaymentFail);
+    }
+
+    private void handlePaymentSuccess(ConsumerRecord<String, byte[]> record) {
+        var resendOf = kafkaProducer.resendRequestOf(record.headers());
+        if (resendOf != null) {
+            producerPipeline.await(kafkaProducer.resendFullReply(resendOf));
+            return;
+        }
+        var event = eventCodec.decode(record.value());
+        log.info("Receiving event {} from payment-success topic", event);
+        producerPipeline.await(paymentService.realizePayment(event, kafkaProducer.isDeltaReply(record.headers())));
+    }
+
+    private void handlePaymentFail(ConsumerRecord<String, byte[]> record) {
+        var event = eventCodec.decode(record.value());
+        log.info("Receiving rollback event {} from payment-fail topic", event);
+        producerPipeline.await(paymentService.realizeRefound(event, kafkaProducer.isDeltaReply(record.headers())));
     }
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ public class Event {
     private ESagaStatus status;
     private List<History> eventHistory;
     private LocalDateTime createdAt;
+    private ClaimCheck claimCheck;
 
     public void addHistory(History history){
         if(ObjectUtils.isEmpty(eventHistory)){
@@ -0,0 +1,41 @@
+package br.com.microservices.orchestrated.paymentservice.core.dto;
+
+import br.com.microservices.orchestrated.paymentservice.core.enums.ESagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.util.ObjectUtils;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EventDelta {
+
+    private String id;
+    private String transactionId;
+    private String orderId;
+    private String source;
+    private ESagaStatus status;
+    private History history;
+    private double totalAmount;
+    private int totalItems;
+
+    public static EventDelta of(Event event) {
+        var builder = EventDelta.builder()
+                .id(event.getId())
+                .transactionId(event.getTransactionId())
+                .orderId(event.getOrderId())
+                .source(event.getSource())
+                .status(event.getStatus());
+        if (!ObjectUtils.isEmpty(event.getEventHistory())) {
+            builder.history(event.getEventHistory().get(event.getEventHistory().size() - 1));
+        }
+        if (event.getPayload() != null) {
+            builder.totalAmount(event.getPayload().getTotalAmount())
+                    .totalItems(event.getPayload().getTotalItems());
+        }
+        return builder.build();
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.microservices.orchestrated.paymentservice.core.service;
 
 import br.com.microservices.orchestrated.paymentservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.paymentservice.core.claimcheck.ClaimCheckResolver;
 import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
 import br.com.microservices.orchestrated.paymentservice.core.dto.History;
 import br.com.microservices.orchestrated.paymentservice.core.dto.OrderProducts;
@@ -9,12 +10,13 @@ import br.com.microservices.orchestrated.paymentservice.core.enums.ESagaStatus;
 import br.com.microservices.orchestrated.paymentservice.core.model.Payment;
 import br.com.microservices.orchestrated.paymentservice.core.producer.KafkaProducer;
 import br.com.microservices.orchestrated.paymentservice.core.repository.PaymentRepository;
-import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.paymentservice.core.tracing.Tracer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
@@ -31,34 +33,43 @@ public class PaymentService {
 
     private PaymentRepository paymentRepository;
 
-    private final JsonUtil jsonUtil;
-
-
-    public void realizePayment(Event event) {
-        try {
-            checkCurrentValidation(event);
-            createPendingPayment(event);
-            var payment = findByOrderIdAndTransactionId(event);
-            validateAmount(payment.getTotalAmount());
-            changePaymentToSuccess(payment);
-            handleSuccess(event);
-        } catch (Exception e) {
-            log.error("Error trying to make payment", e);
-            handleFailCurrentNotExecuted(event, e.getMessage());
+    private final Tracer tracer;
+
+    private final ClaimCheckResolver claimCheckResolver;
+
+
+    public CompletableFuture<Void> realizePayment(Event event, boolean deltaReply) {
+        try (var span = tracer.startSpan("realizePayment")) {
+            try {
+                claimCheckResolver.resolve(event);
+                checkCurrentValidation(event);
+                createPendingPayment(event);
+                var payment = findByOrderIdAndTransactionId(event);
+                validateAmount(payment.getTotalAmount());
+                changePaymentToSuccess(payment);
+                handleSuccess(event);
+            } catch (Exception e) {
+                log.error("Error trying to make payment", e);
+                span.recordError(e);
+                handleFailCurrentNotExecuted(event, e.getMessage());
+            }
+            return sendReply(event, deltaReply);
         }
-        kafkaProducer.sendEvent(jsonUtil.toJson(event));
     }
 
-    public void realizeRefound(Event event) {
-        event.setStatus(ESagaStatus.FAIL);
-        event.setSource(CURRENT_SOURCE);
-        try {
-            changePaymentToRealizeRefound(event);
-            addHistory(event, "Rollback executed for payment");
-        } catch (Exception e) {
-            addHistory(event, "Rollback not executed for payment".concat(e.getMessage()));
+    public CompletableFuture<Void> realizeRefound(Event event, boolean deltaReply) {
+        try (var span = tracer.startSpan("realizeRefound")) {
+            event.setStatus(ESagaStatus.FAIL);
+            event.setSource(CURRENT_SOURCE);
+            try {
+                changePaymentToRealizeRefound(event);
+                addHistory(event, "Rollback executed for payment");
+            } catch (Exception e) {
+                span.recordError(e);
+                addHistory(event, "Rollback not executed for payment".concat(e.getMessage()));
+            }
+            return sendReply(event, deltaReply);
         }
-        kafkaProducer.sendEvent(jsonUtil.toJson(event));
     }
 
     private void changePaymentToSuccess(Payment payment) {
@@ -96,6 +107,14 @@ public class PaymentService {
         event.addHistory(history);
     }
 
+    private CompletableFuture<Void> sendReply(Event event, boolean deltaReply) {
+        claimCheckResolver.release(event);
+        if (deltaReply) {
+            return kafkaProducer.sendDelta(event, event.getOrderId());
+        }
+        return kafkaProducer.sendEvent(event, event.getOrderId());
+    }
+
     private void validateAmount(double amount) {
         if (amount < MIN_TOTAL_AMOUNT) {
             throw new ValidationException("The minimum allowed value is " + MIN_TOTAL_AMOUNT);
@@ -0,0 +1,59 @@
+package br.com.microservices.orchestrated.paymentservice.core.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C trace context: {@code 00-<32 hex trace id>-<16 hex parent span id>-<2 hex flags>}.
+ */
+public record TraceContext(String traceId, String spanId, boolean sampled) {
+
+    private static final String VERSION = "00";
+    private static final String SAMPLED_FLAG = "01";
+    private static final String NOT_SAMPLED_FLAG = "00";
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    public static TraceContext newRoot() {
+        return new TraceContext(randomHex(2), randomHex(1), true);
+    }
+
+    public TraceContext newChild() {
+        return new TraceContext(traceId, randomHex(1), sampled);
+    }
+
+    public String toTraceparent() {
+        return String.join("-", VERSION, traceId, spanId, sampled ? SAMPLED_FLAG : NOT_SAMPLED_FLAG);
+    }
+
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null || traceparent.length() != TRACEPARENT_LENGTH) {
+            return null;
+        }
+        var parts = traceparent.split("-");
+        if (parts.length != 4 || !VERSION.equals(parts[0]) || !isHex(parts[1]) || !isHex(parts[2]) || !isHex(parts[3])) {
+            return null;
+        }
+        return new TraceContext(parts[1], parts[2], (Integer.parseInt(parts[3], 16) & 1) == 1);
+    }
+
+    private static String randomHex(int longs) {
+        var builder = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            var value = ThreadLocalRandom.current().nextLong();
+            while (value == 0) {
+                value = ThreadLocalRandom.current().nextLong();
+            }
+            var hex = Long.toHexString(value);
+            builder.append("0".repeat(16 - hex.length())).append(hex);
+        }
+        return builder.toString();
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return !value.chars().allMatch(c -> c == '0');
+    }
+}
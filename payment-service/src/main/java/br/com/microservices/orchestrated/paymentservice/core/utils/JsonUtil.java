@@ -1,29 +1,53 @@
 package br.com.microservices.orchestrated.paymentservice.core.utils;
 
 import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
+import br.com.microservices.orchestrated.paymentservice.core.dto.EventDelta;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
+/**
+ * JSON serde for saga messages straight to and from Kafka's byte[] values. Readers and writers are resolved
+ * once per type, and failures are thrown rather than turned into empty payloads.
+ */
 @Component
-@AllArgsConstructor
 public class JsonUtil {
 
-    private final ObjectMapper objectMapper;
+    private final ObjectWriter eventWriter;
+    private final ObjectReader eventReader;
+    private final ObjectWriter eventDeltaWriter;
+
+    public JsonUtil(ObjectMapper objectMapper) {
+        this.eventWriter = objectMapper.writerFor(Event.class);
+        this.eventReader = objectMapper.readerFor(Event.class);
+        this.eventDeltaWriter = objectMapper.writerFor(EventDelta.class);
+    }
+
+    public byte[] toJson(Event event) {
+        try {
+            return eventWriter.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize event " + event.getId(), e);
+        }
+    }
 
-    public String toJson(Object object) {
+    public byte[] toJson(EventDelta delta) {
         try {
-            return objectMapper.writeValueAsString(object);
-        } catch (Exception e) {
-            return "";
+            return eventDeltaWriter.writeValueAsBytes(delta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize delta of event " + delta.getId(), e);
         }
     }
 
-    public Event toEvent(String json) {
+    public Event toEvent(byte[] json) {
         try {
-            return objectMapper.readValue(json, Event.class);
-        } catch (Exception e) {
-            return null;
+            return eventReader.readValue(json);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not deserialize event", e);
         }
     }
 }
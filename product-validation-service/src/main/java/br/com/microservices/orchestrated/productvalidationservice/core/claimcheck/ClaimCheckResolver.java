@@ -0,0 +1,100 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.claimcheck;
+
+import br.com.microservices.orchestrated.productvalidationservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.ClaimCheckDTO;
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.EventDTO;
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.OrderProductsDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves order products that the order-service moved out of the saga message. Bodies are content
+ * addressed, so a cached entry never goes stale; the cache is a small LRU bounded by entry count.
+ */
+@Slf4j
+@Component
+public class ClaimCheckResolver {
+
+    private static final String CLAIM_CHECK_PATH = "/api/claim-check/{hash}";
+
+    private final RestTemplate restTemplate;
+    private final ObjectReader productsReader;
+    private final String orderServiceUrl;
+    private final Map<String, List<OrderProductsDTO>> cache;
+
+    public ClaimCheckResolver(RestTemplateBuilder restTemplateBuilder,
+                              ObjectMapper objectMapper,
+                              @Value("${saga.claim-check.order-service-url}") String orderServiceUrl,
+                              @Value("${saga.claim-check.cache-size}") int cacheSize) {
+        this.restTemplate = restTemplateBuilder.build();
+        this.productsReader = objectMapper.readerFor(new TypeReference<List<OrderProductsDTO>>() { });
+        this.orderServiceUrl = orderServiceUrl;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<OrderProductsDTO>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public void resolve(EventDTO event) {
+        var claimCheck = event.getClaimCheck();
+        var payload = event.getPayload();
+        if (claimCheck == null || payload == null || !ObjectUtils.isEmpty(payload.getOrderProducts())) {
+            return;
+        }
+        payload.setOrderProducts(findProducts(claimCheck));
+    }
+
+    public void release(EventDTO event) {
+        if (event.getClaimCheck() != null && event.getPayload() != null) {
+            event.getPayload().setOrderProducts(null);
+        }
+    }
+
+    private List<OrderProductsDTO> findProducts(ClaimCheckDTO claimCheck) {
+        var hash = claimCheck.getHash();
+        synchronized (cache) {
+            var cached = cache.get(hash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        var body = restTemplate.getForObject(orderServiceUrl + CLAIM_CHECK_PATH, byte[].class, hash);
+        if (body == null || body.length != claimCheck.getSize() || !hash.equals(sha256(body))) {
+            throw new ValidationException("Claim check body does not match hash " + hash);
+        }
+        try {
+            List<OrderProductsDTO> products = productsReader.readValue(body);
+            synchronized (cache) {
+                cache.put(hash, products);
+            }
+            return products;
+        } catch (IOException e) {
+            throw new ValidationException("Claim check body is not a product list " + hash);
+        }
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
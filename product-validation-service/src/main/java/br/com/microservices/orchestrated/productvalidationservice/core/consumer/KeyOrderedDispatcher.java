@@ -0,0 +1,107 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.consumer;
+
+import br.com.microservices.orchestrated.productvalidationservice.config.thread.VirtualThreads;
+import br.com.microservices.orchestrated.productvalidationservice.core.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs a polled batch on virtual threads, one per record key, each key's records in poll order. A saga's
+ * messages all carry its orderId key, so they keep their order, while records of other sagas stop waiting
+ * behind each other's repository round trips: the records in progress are bounded by the keys in the batch
+ * and the connection pool instead of the partition count. A record that throws is retried in place and then
+ * dead-lettered, as the error handler does for record listeners, and the batch returns only once every key
+ * is done, so the container commits its offsets after all of its records were handled or dead-lettered.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeyOrderedDispatcher {
+
+    private static final String DISPATCH_THREAD_PREFIX = "kafka-dispatch-";
+    private static final String CONSUME_SPAN_PREFIX = "consume ";
+
+    @Value("${spring.kafka.listener.retry.backoff-ms}")
+    private long retryBackoffMs;
+
+    @Value("${spring.kafka.listener.retry.max-attempts}")
+    private long retryMaxAttempts;
+
+    private final ConsumerRecordRecoverer deadLetterRecoverer;
+    private final Tracer tracer;
+    private final ExecutorService executor = VirtualThreads.newExecutor(DISPATCH_THREAD_PREFIX);
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    public void dispatch(List<ConsumerRecord<String, byte[]>> records, Consumer<ConsumerRecord<String, byte[]>> handler) {
+        var byKey = new LinkedHashMap<String, List<ConsumerRecord<String, byte[]>>>();
+        for (var record : records) {
+            byKey.computeIfAbsent(record.key(), key -> new ArrayList<>()).add(record);
+        }
+        var chains = new ArrayList<Future<?>>(byKey.size());
+        for (var keyRecords : byKey.values()) {
+            chains.add(executor.submit(() -> keyRecords.forEach(record -> handle(record, handler))));
+        }
+        RuntimeException failure = null;
+        for (var chain : chains) {
+            try {
+                chain.get();
+            } catch (ExecutionException e) {
+                failure = failure == null ? new IllegalStateException("Error dispatching records", e.getCause()) : failure;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while dispatching records", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void handle(ConsumerRecord<String, byte[]> record, Consumer<ConsumerRecord<String, byte[]>> handler) {
+        for (long attempt = 1; ; attempt++) {
+            var span = tracer.startSpan(CONSUME_SPAN_PREFIX.concat(record.topic()), tracer.extract(record.headers()));
+            try {
+                handler.accept(record);
+                return;
+            } catch (RuntimeException e) {
+                span.recordError(e);
+                if (attempt >= retryMaxAttempts) {
+                    log.error("Dead-lettering record at offset {} of {}-{} after {} attempts", record.offset(),
+                            record.topic(), record.partition(), attempt, e);
+                    deadLetterRecoverer.accept(record, e);
+                    return;
+                }
+            } finally {
+                span.close();
+            }
+            backOff();
+        }
+    }
+
+    private void backOff() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(retryBackoffMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying record", e);
+        }
+    }
+}
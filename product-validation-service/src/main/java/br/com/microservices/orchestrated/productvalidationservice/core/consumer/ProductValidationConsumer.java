@@ -1,37 +1,81 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.consumer;
 
+import br.com.microservices.orchestrated.productvalidationservice.core.codec.EventCodec;
+import br.com.microservices.orchestrated.productvalidationservice.core.producer.KafkaProducer;
+import br.com.microservices.orchestrated.productvalidationservice.core.producer.ProducerPipeline;
 import br.com.microservices.orchestrated.productvalidationservice.core.service.ProductValidationService;
-import br.com.microservices.orchestrated.productvalidationservice.core.utils.JsonUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class ProductValidationConsumer {
 
     private final ProductValidationService productValidationService;
-    private final JsonUtil jsonUtil;
+    private final EventCodec eventCodec;
+    private final ProducerPipeline producerPipeline;
+    private final KafkaProducer kafkaProducer;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.product-validation-success}",
+            autoStartup = "#{!${spring.threads.virtual.enabled}}"
+    )
+    public void consumeSuccessEvent(ConsumerRecord<String, byte[]> record) {
+        handleSuccess(record);
+    }
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.product-validation-success}"
+            topics = "${spring.kafka.topic.product-validation-success}",
+            containerFactory = "keyOrderedKafkaListenerContainerFactory",
+            autoStartup = "${spring.threads.virtual.enabled}"
     )
-    public void consumeSuccessEvent(String payload) {
-        log.info("Receiving success event {} from product-validation-success topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        productValidationService.validateExistingProducts(event);
+    public void consumeSuccessEvents(List<ConsumerRecord<String, byte[]>> records) {
+        keyOrderedDispatcher.dispatch(records, this::handleSuccess);
     }
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.product-validation-fail}"
+            topics = "${spring.kafka.topic.product-validation-fail}",
+            autoStartup = "#{!${spring.threads.virtual.enabled}}"
     )
-    public void consumeFailEvent(String payload) {
-        log.info("Receiving rollback event {} from product-validation-fail topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        productValidationService.rollbackEvent(event);
+    public void consumeFailEvent(ConsumerRecord<String, byte[]> record) {
+        handleFail(record);
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.product-validation-fail}",
+            containerFactory = "keyOrderedKafkaListenerContainerFactory",
+            autoStartup = "${spring.threads.virtual.enabled}"
+    )
+    public void consumeFailEvents(List<ConsumerRecord<String, byte[]>> records) {
+        keyOrderedDispatcher.dispatch(records, this::handleFail);
+    }
+
+    private void handleSuccess(ConsumerRecord<String, byte[]> record) {
+        var resendOf = kafkaProducer.resendRequestOf(record.headers());
+        if (resendOf != null) {
+            producerPipeline.await(kafkaProducer.resendFullReply(resendOf));
+            return;
+        }
+        var event = eventCodec.decode(record.value());
+        log.info("Receiving success event {} from product-validation-success topic", event);
+        producerPipeline.await(productValidationService.validateExistingProducts(event,
+                kafkaProducer.isDeltaReply(record.headers())));
+    }
+
+    private void handleFail(ConsumerRecord<String, byte[]> record) {
+        var event = eventCodec.decode(record.value());
+        log.info("Receiving rollback event {} from product-validation-fail topic", event);
+        producerPipeline.await(productValidationService.rollbackEvent(event, kafkaProducer.isDeltaReply(record.headers())));
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.controller;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.tracing.SpanData;
+import br.com.microservices.orchestrated.productvalidationservice.core.tracing.SpanExporter;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/traces")
+public class TraceController {
+
+    private final SpanExporter spanExporter;
+
+    @GetMapping
+    public ResponseEntity<List<SpanData>> getRecentSpans(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(spanExporter.recent(limit));
+    }
+}
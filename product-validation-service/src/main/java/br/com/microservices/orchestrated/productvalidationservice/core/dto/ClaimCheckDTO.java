@@ -0,0 +1,16 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ClaimCheckDTO {
+
+    private String hash;
+    private long size;
+}
@@ -25,6 +25,7 @@ public class EventDTO {
     private ESagaStatus status;
     private List<HistoryDTO> eventHistory;
     private LocalDateTime createdAt;
+    private ClaimCheckDTO claimCheck;
 
     public void addHistory(HistoryDTO historyDTO){
         if(ObjectUtils.isEmpty(eventHistory)){
@@ -0,0 +1,41 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.dto;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.enums.ESagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.util.ObjectUtils;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EventDeltaDTO {
+
+    private String id;
+    private String transactionId;
+    private String orderId;
+    private String source;
+    private ESagaStatus status;
+    private HistoryDTO history;
+    private double totalAmount;
+    private int totalItems;
+
+    public static EventDeltaDTO of(EventDTO event) {
+        var builder = EventDeltaDTO.builder()
+                .id(event.getId())
+                .transactionId(event.getTransactionId())
+                .orderId(event.getOrderId())
+                .source(event.getSource())
+                .status(event.getStatus());
+        if (!ObjectUtils.isEmpty(event.getEventHistory())) {
+            builder.history(event.getEventHistory().get(event.getEventHistory().size() - 1));
+        }
+        if (event.getPayload() != null) {
+            builder.totalAmount(event.getPayload().getTotalAmount())
+                    .totalItems(event.getPayload().getTotalItens());
+        }
+        return builder.build();
+    }
+}
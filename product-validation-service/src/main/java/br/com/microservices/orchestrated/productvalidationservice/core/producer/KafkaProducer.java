@@ -1,27 +1,122 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.producer;
 
+import br.com.microservices.orchestrated.productvalidationservice.core.codec.EventCodec;
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.EventDTO;
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.EventDeltaDTO;
+import br.com.microservices.orchestrated.productvalidationservice.core.tracing.Tracer;
+import br.com.microservices.orchestrated.productvalidationservice.core.utils.JsonUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class KafkaProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ProducerPipeline producerPipeline;
+    private final Tracer tracer;
+    private final EventCodec eventCodec;
+    private final JsonUtil jsonUtil;
+
+    public static final String REPLY_FORMAT_HEADER = "saga-reply-format";
+    public static final String REPLY_RESEND_HEADER = "saga-reply-resend";
+    public static final String CONSUMED_AT_HEADER = "saga-consumed-at";
+    private static final byte[] DELTA_REPLY_FORMAT = "delta".getBytes(StandardCharsets.US_ASCII);
 
     @Value("${spring.kafka.topic.orchestrator}")
     private String orchestratorTopic;
 
-    public void sendEvent(String paylod) {
-        try {
-            log.info("Sending event to topic {} witg data {}", orchestratorTopic, paylod);
-            kafkaTemplate.send(orchestratorTopic, paylod);
-        } catch (Exception e) {
-            log.error("Error tryign to send data to topic {} with data {}", orchestratorTopic, paylod, e);
+    @Value("${saga.reply.delta-enabled}")
+    private boolean deltaEnabled;
+
+    @Value("${saga.reply.resend-cache-size}")
+    private int resendCacheSize;
+
+    /**
+     * Encoded full replies behind the last delta replies, so a reply the orchestrator could not merge can be
+     * resent in full without running the step again. The bytes are kept rather than the event, whose object
+     * graph carries the whole saga history.
+     */
+    private final Map<String, FullReply> deltaReplies = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FullReply> eldest) {
+            return size() > resendCacheSize;
+        }
+    };
+
+    /**
+     * A delta is only sent when enabled here and offered by the orchestrator on the request, which it does
+     * while it holds the snapshot the delta is merged into.
+     */
+    public boolean isDeltaReply(Headers requestHeaders) {
+        var header = requestHeaders.lastHeader(REPLY_FORMAT_HEADER);
+        return deltaEnabled && header != null && Arrays.equals(DELTA_REPLY_FORMAT, header.value());
+    }
+
+    public String resendRequestOf(Headers requestHeaders) {
+        var header = requestHeaders.lastHeader(REPLY_RESEND_HEADER);
+        return header == null ? null : new String(header.value(), StandardCharsets.US_ASCII);
+    }
+
+    public CompletableFuture<Void> sendEvent(EventDTO event, String key) {
+        log.info("Sending event to topic {} witg data {}", orchestratorTopic, event);
+        return send(eventCodec.encode(event, orchestratorTopic), key, false);
+    }
+
+    public CompletableFuture<Void> sendDelta(EventDTO event, String key) {
+        var delta = EventDeltaDTO.of(event);
+        var fullReply = new FullReply(key, eventCodec.encode(event, orchestratorTopic));
+        synchronized (deltaReplies) {
+            deltaReplies.put(event.getTransactionId(), fullReply);
         }
+        log.info("Sending event to topic {} witg data {}", orchestratorTopic, delta);
+        return send(jsonUtil.toJson(delta), key, true);
+    }
+
+    public CompletableFuture<Void> resendFullReply(String transactionId) {
+        FullReply fullReply;
+        synchronized (deltaReplies) {
+            fullReply = deltaReplies.get(transactionId);
+        }
+        if (fullReply == null) {
+            log.error("No delta reply of saga {} left to resend in full", transactionId);
+            return CompletableFuture.completedFuture(null);
+        }
+        log.info("Resending full reply of saga {}", transactionId);
+        return send(fullReply.value(), fullReply.key(), false);
+    }
+
+    private CompletableFuture<Void> send(byte[] value, String key, boolean delta) {
+        var record = new ProducerRecord<>(orchestratorTopic, key, value);
+        tracer.inject(record.headers());
+        stampConsumedAt(record.headers());
+        if (delta) {
+            record.headers().add(REPLY_FORMAT_HEADER, DELTA_REPLY_FORMAT);
+        }
+        return producerPipeline.send(record);
+    }
+
+    /**
+     * Tells the orchestrator when the request behind this reply was consumed, so it can time the step's
+     * processing apart from the time the request waited in the participant topic.
+     */
+    private void stampConsumedAt(Headers headers) {
+        var consumedAt = tracer.consumedAtMillis();
+        if (consumedAt > 0) {
+            headers.add(CONSUMED_AT_HEADER, Long.toString(consumedAt).getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private record FullReply(String key, byte[] value) {
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.service;
 
 import br.com.microservices.orchestrated.productvalidationservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.productvalidationservice.core.claimcheck.ClaimCheckResolver;
 import br.com.microservices.orchestrated.productvalidationservice.core.dto.EventDTO;
 import br.com.microservices.orchestrated.productvalidationservice.core.dto.HistoryDTO;
 import br.com.microservices.orchestrated.productvalidationservice.core.dto.OrderProductsDTO;
@@ -8,13 +9,14 @@ import br.com.microservices.orchestrated.productvalidationservice.core.models.Va
 import br.com.microservices.orchestrated.productvalidationservice.core.producer.KafkaProducer;
 import br.com.microservices.orchestrated.productvalidationservice.core.repository.ProductRepository;
 import br.com.microservices.orchestrated.productvalidationservice.core.repository.ValidationRepository;
-import br.com.microservices.orchestrated.productvalidationservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.productvalidationservice.core.tracing.Tracer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 import static br.com.microservices.orchestrated.productvalidationservice.core.enums.ESagaStatus.*;
 
@@ -31,26 +33,34 @@ public class ProductValidationService {
 
     private ValidationRepository validationRepository;
 
-    private final JsonUtil jsonUtil;
-
-    public void validateExistingProducts(EventDTO event) {
-        try {
-            checkCurrentValidation(event);
-            createValidation(event, true);
-            handleSuccess(event);
-        } catch (Exception e) {
-            log.error("Error to trying to validate products.", e);
-            handleFailNotExecuted(event, e.getMessage());
+    private final Tracer tracer;
+
+    private final ClaimCheckResolver claimCheckResolver;
+
+    public CompletableFuture<Void> validateExistingProducts(EventDTO event, boolean deltaReply) {
+        try (var span = tracer.startSpan("validateExistingProducts")) {
+            try {
+                claimCheckResolver.resolve(event);
+                checkCurrentValidation(event);
+                createValidation(event, true);
+                handleSuccess(event);
+            } catch (Exception e) {
+                log.error("Error to trying to validate products.", e);
+                span.recordError(e);
+                handleFailNotExecuted(event, e.getMessage());
+            }
+            return sendReply(event, deltaReply);
         }
-        kafkaProducer.sendEvent(jsonUtil.toJson(event));
     }
 
-    public void rollbackEvent(EventDTO event){
-        changeValidationToFail(event);
-        event.setStatus(FAIL);
-        event.setSource(CURRENT_SOURCE);
-        addHistory(event, "Rollback executed on product validation!");
-        kafkaProducer.sendEvent(jsonUtil.toJson(event));
+    public CompletableFuture<Void> rollbackEvent(EventDTO event, boolean deltaReply){
+        try (var span = tracer.startSpan("rollbackEvent")) {
+            changeValidationToFail(event);
+            event.setStatus(FAIL);
+            event.setSource(CURRENT_SOURCE);
+            addHistory(event, "Rollback executed on product validation!");
+            return sendReply(event, deltaReply);
+        }
     }
 
     private void changeValidationToFail(EventDTO event) {
@@ -128,4 +138,12 @@ public class ProductValidationService {
 
         event.addHistory(history);
     }
+
+    private CompletableFuture<Void> sendReply(EventDTO event, boolean deltaReply) {
+        claimCheckResolver.release(event);
+        if (deltaReply) {
+            return kafkaProducer.sendDelta(event, event.getOrderId());
+        }
+        return kafkaProducer.sendEvent(event, event.getOrderId());
+    }
 }
\ No newline at end of file